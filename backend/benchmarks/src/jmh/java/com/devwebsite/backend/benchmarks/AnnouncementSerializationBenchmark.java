@@ -0,0 +1,73 @@
+package com.devwebsite.backend.benchmarks;
+
+import com.devwebsite.backend.announcement.dto.AnnouncementResponse;
+import com.devwebsite.backend.announcement.entity.Announcement;
+import com.devwebsite.backend.user.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and serializing a 20-item announcement page, as a list endpoint does on a cache miss.
+ * Content is about 2 KB of mixed Korean and English, so strings are UTF-16 backed.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnnouncementSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private JsonMapper jsonMapper;
+    private List<Announcement> announcements;
+    private Page<AnnouncementResponse> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        User author = User.reference(1L, "admin@example.com", "Admin", "ROLE_ADMIN", 0);
+        String content = "정기 점검 안내: 서비스 안정성 개선을 위해 데이터베이스 점검을 진행합니다. "
+                + "Scheduled maintenance for the database cluster. ".repeat(3);
+
+        announcements = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            announcements.add(Announcement.builder()
+                    .title("공지사항 " + i + " - Service update")
+                    .content(content.repeat(8))
+                    .category("maintenance")
+                    .published(true)
+                    .author(author)
+                    .build());
+        }
+        page = toPage(announcements);
+    }
+
+    @Benchmark
+    public Page<AnnouncementResponse> mapPage() {
+        return toPage(announcements);
+    }
+
+    @Benchmark
+    public byte[] serializePage() {
+        return jsonMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializePage() {
+        return jsonMapper.writeValueAsBytes(toPage(announcements));
+    }
+
+    private static Page<AnnouncementResponse> toPage(List<Announcement> announcements) {
+        List<AnnouncementResponse> content = announcements.stream().map(AnnouncementResponse::from).toList();
+        return new PageImpl<>(content, PageRequest.of(0, PAGE_SIZE), 1_000);
+    }
+}
@@ -0,0 +1,61 @@
+package com.devwebsite.backend.benchmarks;
+
+import com.devwebsite.backend.auth.jwt.JwtProperties;
+import com.devwebsite.backend.auth.jwt.JwtTokenProvider;
+import com.devwebsite.backend.user.entity.User;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access token issue and verification, which runs on every authenticated request.
+ * {@code claimsCache} toggles the verified-claims cache in front of signature verification.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-at-least-256-bits-long";
+
+    @Param({"false", "true"})
+    public boolean claimsCache;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private User user;
+    private String accessToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtProperties properties = new JwtProperties(SECRET, 900_000, 604_800_000, true,
+                new JwtProperties.ClaimsCache(claimsCache, 10_000));
+        jwtTokenProvider = new JwtTokenProvider(properties, new SimpleMeterRegistry());
+        user = User.reference(42L, "user@example.com", "User", "ROLE_USER", 0);
+        accessToken = jwtTokenProvider.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtTokenProvider.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return jwtTokenProvider.parseClaims(accessToken);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public String getEmailFromToken() {
+        return jwtTokenProvider.getEmailFromToken(accessToken);
+    }
+}
@@ -0,0 +1,72 @@
+package com.devwebsite.backend.benchmarks;
+
+import com.devwebsite.backend.ratelimit.service.InMemoryRateLimiter;
+import com.devwebsite.backend.ratelimit.service.RateLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Acquire throughput of {@link InMemoryRateLimiter} under contention.
+ * Run with {@code ./gradlew :benchmarks:jmh}; the gc profiler reports allocation per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RateLimiterBenchmark {
+
+    private static final long HOT_USER_ID = 1L;
+
+    @State(Scope.Benchmark)
+    public static class Limiter {
+        InMemoryRateLimiter rateLimiter;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            rateLimiter = new InMemoryRateLimiter(0);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadKey {
+        private static final AtomicLong SEQUENCE = new AtomicLong(1_000);
+
+        long userId;
+        long apiKeyId;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            // Above the Long cache, so the lookup pays the same boxing as real ids
+            userId = SEQUENCE.incrementAndGet();
+            apiKeyId = userId;
+        }
+    }
+
+    /**
+     * Every thread hits one bucket with a huge limit, so the CAS loop contends on a single AtomicLong.
+     */
+    @Benchmark
+    public long sharedKey(Limiter limiter) {
+        return limiter.rateLimiter.tryAcquire(RateLimiter.Scope.USER, HOT_USER_ID, Integer.MAX_VALUE);
+    }
+
+    /**
+     * One bucket per thread: measures lookup and update without CAS contention.
+     */
+    @Benchmark
+    public long perThreadKey(Limiter limiter, ThreadKey threadKey) {
+        return limiter.rateLimiter.tryAcquire(RateLimiter.Scope.USER, threadKey.userId, Integer.MAX_VALUE);
+    }
+
+    /**
+     * A low limit that is exhausted after warmup, so nearly every call takes the rejection path.
+     */
+    @Benchmark
+    public long rejected(Limiter limiter, ThreadKey threadKey) {
+        return limiter.rateLimiter.tryAcquire(RateLimiter.Scope.API_KEY, threadKey.apiKeyId, 1);
+    }
+}
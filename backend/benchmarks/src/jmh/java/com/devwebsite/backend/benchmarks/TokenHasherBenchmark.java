@@ -0,0 +1,35 @@
+package com.devwebsite.backend.benchmarks;
+
+import com.devwebsite.backend.common.security.TokenHasher;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TokenHasher} against the previous per-call {@code MessageDigest.getInstance} plus hex encoding.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TokenHasherBenchmark {
+
+    private final String apiKey = "sk_" + "0123456789abcdef".repeat(4);
+
+    @Benchmark
+    public byte[] tokenHasher() {
+        return TokenHasher.hash(apiKey);
+    }
+
+    @Benchmark
+    public String getInstanceHex() throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        return HexFormat.of().formatHex(digest.digest(apiKey.getBytes(StandardCharsets.UTF_8)));
+    }
+}
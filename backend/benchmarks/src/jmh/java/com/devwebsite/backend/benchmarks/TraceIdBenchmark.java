@@ -0,0 +1,35 @@
+package com.devwebsite.backend.benchmarks;
+
+import com.devwebsite.backend.common.tracing.TraceContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * W3C trace and span id generation ({@link TraceContext}), which runs for every request without an
+ * incoming {@code traceparent}, against the former {@code UUID.randomUUID} ids drawn from the shared SecureRandom.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class TraceIdBenchmark {
+
+    @Benchmark
+    public String traceId() {
+        return TraceContext.newTraceId();
+    }
+
+    @Benchmark
+    public String spanId() {
+        return TraceContext.newSpanId();
+    }
+
+    @Benchmark
+    public String uuid() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+}
@@ -0,0 +1,94 @@
+package com.devwebsite.backend.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Thin JSON-over-HTTP client for the API under test.
+ */
+final class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String REFRESH_TOKEN_COOKIE_NAME = "refreshToken";
+
+    private final URI baseUrl;
+    private final String origin;
+    private final HttpClient httpClient;
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    ApiClient(URI baseUrl, String origin) {
+        this.baseUrl = baseUrl;
+        this.origin = origin;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    HttpResponse<byte[]> get(String path, String accessToken) throws IOException, InterruptedException {
+        return send(request(path, accessToken).GET().build());
+    }
+
+    HttpResponse<byte[]> post(String path, String accessToken, Map<String, ?> body)
+            throws IOException, InterruptedException {
+        return send(request(path, accessToken)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(jsonMapper.writeValueAsBytes(body)))
+                .build());
+    }
+
+    HttpResponse<byte[]> delete(String path, String accessToken) throws IOException, InterruptedException {
+        return send(request(path, accessToken).DELETE().build());
+    }
+
+    /**
+     * Posts to {@code /api/v1/auth/refresh} the way the frontend does: the refresh token travels only in its
+     * cookie, and the {@code Origin} header has to pass {@code CsrfProtectionFilter}.
+     */
+    HttpResponse<byte[]> refresh(String refreshToken) throws IOException, InterruptedException {
+        return send(request("/api/v1/auth/refresh", null)
+                .header("Cookie", REFRESH_TOKEN_COOKIE_NAME + "=" + refreshToken)
+                .header("Origin", origin)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build());
+    }
+
+    JsonNode json(HttpResponse<byte[]> response) {
+        return jsonMapper.readTree(response.body());
+    }
+
+    /** Returns the refresh token the response set, or null when it did not rotate the cookie. */
+    static String refreshTokenCookie(HttpResponse<?> response) {
+        String prefix = REFRESH_TOKEN_COOKIE_NAME + "=";
+        for (String header : response.headers().allValues("Set-Cookie")) {
+            if (header.startsWith(prefix)) {
+                int end = header.indexOf(';');
+                String value = header.substring(prefix.length(), end < 0 ? header.length() : end);
+                return value.isEmpty() ? null : value;
+            }
+        }
+        return null;
+    }
+
+    private HttpRequest.Builder request(String path, String accessToken) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (accessToken != null) {
+            builder.header("Authorization", "Bearer " + accessToken);
+        }
+        return builder;
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
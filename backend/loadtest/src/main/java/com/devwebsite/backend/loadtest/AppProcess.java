@@ -0,0 +1,95 @@
+package com.devwebsite.backend.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The application under test, started from the boot jar as a child process. It inherits the environment
+ * (DB_HOST, DB_PORT, ... for the local PostgreSQL) and runs with rate limiting off, since the harness drives
+ * every user far beyond a plan's per-minute allowance.
+ */
+final class AppProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final Process process;
+
+    private AppProcess(Process process) {
+        this.process = process;
+    }
+
+    static AppProcess start(LoadTestConfig config) throws IOException, InterruptedException {
+        Files.createDirectories(config.outputDir());
+        Path log = config.outputDir().resolve("app.log");
+
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        String jvmArgs = System.getProperty("loadtest.app-jvm-args", "");
+        if (!jvmArgs.isBlank()) {
+            command.addAll(List.of(jvmArgs.trim().split("\\s+")));
+        }
+        command.addAll(List.of(
+                "-jar", config.appJar().toString(),
+                "--server.port=" + config.appPort(),
+                "--management.server.port=" + managementPort(config),
+                "--app.rate-limit.enabled=false"));
+
+        System.out.println("Starting " + config.appJar().getFileName() + " on port " + config.appPort()
+                + " (log: " + log + ")");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        AppProcess app = new AppProcess(process);
+        try {
+            app.awaitHealthy(URI.create("http://localhost:" + managementPort(config) + "/actuator/health"));
+        } catch (IOException | InterruptedException | RuntimeException ex) {
+            app.close();
+            throw ex;
+        }
+        return app;
+    }
+
+    // Actuator runs on its own port, next to the application port
+    private static int managementPort(LoadTestConfig config) {
+        return config.appPort() + 1;
+    }
+
+    private void awaitHealthy(URI health) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(health).timeout(Duration.ofSeconds(2)).GET().build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with status " + process.exitValue()
+                        + " during startup, see app.log");
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IOException("Application did not become healthy within " + STARTUP_TIMEOUT.toSeconds() + "s");
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.devwebsite.backend.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-route latency histograms (microseconds) and status counts for the measured phase.
+ * Latency runs from an arrival's intended start, not from when the request was actually sent, so a stalled
+ * server is charged for the requests that queued behind the stall.
+ */
+final class LatencyRecorder {
+
+    /** Status recorded for requests that got no usable response (connect error, timeout, unreadable body). */
+    static final int NO_RESPONSE = 0;
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Route, RouteStats> stats = new EnumMap<>(Route.class);
+    private final ConcurrentHistogram all = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+
+    LatencyRecorder() {
+        for (Route route : Route.values()) {
+            stats.put(route, new RouteStats());
+        }
+    }
+
+    void record(Route route, int status, long latencyNanos) {
+        long micros = Math.max(1, latencyNanos / 1_000);
+        RouteStats routeStats = stats.get(route);
+        routeStats.histogram.recordValue(micros);
+        routeStats.statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        all.recordValue(micros);
+    }
+
+    Histogram histogram(Route route) {
+        return stats.get(route).histogram;
+    }
+
+    Map<Integer, Long> statuses(Route route) {
+        Map<Integer, Long> counts = new TreeMap<>();
+        stats.get(route).statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    Histogram all() {
+        return all;
+    }
+
+    static boolean isError(int status) {
+        return status == NO_RESPONSE || status >= 400;
+    }
+
+    private static final class RouteStats {
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    }
+}
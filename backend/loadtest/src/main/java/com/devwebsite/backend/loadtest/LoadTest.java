@@ -0,0 +1,105 @@
+package com.devwebsite.backend.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test: boots the application (or targets {@code loadtest.base-url}), registers a pool of users
+ * and drives the route mix at a fixed arrival rate.
+ *
+ * <p>The load is an open model. Arrivals follow a schedule computed from the rate alone, each one runs on its
+ * own virtual thread, and a slow response never delays the next arrival; latency is measured from the scheduled
+ * start. A closed loop of N workers would instead wait out a stall and under-report it (coordinated omission).
+ * The schedule, route picks and users come from {@code loadtest.seed}, so two runs issue the same sequence.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        try (AppProcess app = config.launchesApp() ? AppProcess.start(config) : null) {
+            Report report = run(config);
+            Path file = report.write(config.outputDir());
+            System.out.println();
+            System.out.print(report.table());
+            System.out.println();
+            System.out.println("Report written to " + file.toAbsolutePath());
+        }
+    }
+
+    private static Report run(LoadTestConfig config) throws Exception {
+        ApiClient client = new ApiClient(config.baseUrl(), config.origin());
+        Workload workload = new Workload(client, Long.toString(System.currentTimeMillis(), 36));
+
+        System.out.println("Preparing " + config.users() + " users against " + config.baseUrl());
+        workload.prepare(config);
+        List<Session> sessions = workload.sessions();
+
+        System.out.printf("Running %.0f req/s (%s arrivals): %ds warmup + %ds measured, mix %s%n",
+                config.rate(), config.poisson() ? "poisson" : "constant",
+                config.warmup().toSeconds(), config.duration().toSeconds(), config.mix());
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        SplittableRandom random = new SplittableRandom(config.seed());
+        double meanIntervalNanos = 1_000_000_000.0 / config.rate();
+        AtomicLong maxDispatchLag = new AtomicLong();
+
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            double offset = 0;
+            for (long intended = start; intended < end; intended = start + (long) offset) {
+                long delay;
+                while ((delay = intended - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+
+                Route route = config.mix().pick(random);
+                Session session = sessions.get(random.nextInt(sessions.size()));
+                SplittableRandom taskRandom = random.split();
+                long scheduled = intended;
+                boolean measured = intended >= measureFrom;
+                executor.execute(() -> {
+                    long dispatched = System.nanoTime();
+                    maxDispatchLag.accumulateAndGet((dispatched - scheduled) / 1_000, Math::max);
+
+                    Workload.Outcome outcome;
+                    try {
+                        outcome = workload.issue(route, session, taskRandom);
+                    } catch (IOException | RuntimeException ex) {
+                        outcome = new Workload.Outcome(route, LatencyRecorder.NO_RESPONSE);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    if (measured && outcome != null) {
+                        recorder.record(outcome.route(), outcome.status(), System.nanoTime() - scheduled);
+                    }
+                });
+
+                offset += config.poisson()
+                        ? -Math.log(1 - random.nextDouble()) * meanIntervalNanos
+                        : meanIntervalNanos;
+            }
+            // closing the executor waits for the requests still in flight
+        }
+
+        if (maxDispatchLag.get() > 10_000) {
+            System.out.println("Warning: requests started up to " + maxDispatchLag.get() / 1_000
+                    + " ms late; the load generator itself may be saturated");
+        }
+        return Report.of(config, startedAt, recorder, maxDispatchLag.get());
+    }
+}
@@ -0,0 +1,73 @@
+package com.devwebsite.backend.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties
+ * ({@code ./gradlew :loadtest:run -Ploadtest.rate=300}).
+ */
+public record LoadTestConfig(
+        URI baseUrl,
+        Path appJar,
+        int appPort,
+        String origin,
+        double rate,
+        boolean poisson,
+        Duration warmup,
+        Duration duration,
+        int users,
+        int minContent,
+        String adminEmail,
+        String adminPassword,
+        RouteMix mix,
+        long seed,
+        Path outputDir,
+        String commit
+) {
+    static final String DEFAULT_MIX = "announcement-list=20,announcement-detail=15,announcement-feed=8,"
+            + "release-list=12,release-detail=8,release-feed=5,subscription=10,refresh=6,login=4,register=2,"
+            + "api-key-list=5,api-key-create=3,api-key-delete=2";
+
+    /**
+     * Reads the configuration. Without {@code loadtest.base-url} the harness boots {@code loadtest.app-jar}
+     * itself on {@code loadtest.app-port}.
+     */
+    public static LoadTestConfig fromSystemProperties() {
+        String baseUrl = property("base-url", "");
+        String appJar = property("app-jar", "");
+        int appPort = Integer.parseInt(property("app-port", "18080"));
+        if (baseUrl.isBlank() && appJar.isBlank()) {
+            throw new IllegalArgumentException("Either loadtest.base-url or loadtest.app-jar must be set");
+        }
+
+        return new LoadTestConfig(
+                URI.create(baseUrl.isBlank() ? "http://localhost:" + appPort : baseUrl),
+                baseUrl.isBlank() ? Path.of(appJar) : null,
+                appPort,
+                property("origin", "http://localhost:3000"),
+                Double.parseDouble(property("rate", "200")),
+                "poisson".equalsIgnoreCase(property("arrivals", "poisson")),
+                Duration.ofSeconds(Long.parseLong(property("warmup", "30"))),
+                Duration.ofSeconds(Long.parseLong(property("duration", "120"))),
+                Integer.parseInt(property("users", "500")),
+                Integer.parseInt(property("min-content", "200")),
+                property("admin-email", "admin@example.com"),
+                property("admin-password", "admin123"),
+                RouteMix.parse(property("mix", DEFAULT_MIX)),
+                Long.parseLong(property("seed", "42")),
+                Path.of(property("output", "build/results/loadtest")),
+                property("commit", "unknown")
+        );
+    }
+
+    public boolean launchesApp() {
+        return appJar != null;
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty("loadtest." + name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+}
@@ -0,0 +1,140 @@
+package com.devwebsite.backend.loadtest;
+
+import org.HdrHistogram.Histogram;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of one run, written as JSON so runs on different commits can be diffed. Each route keeps its
+ * compressed HdrHistogram ({@code Histogram.decodeFromCompressedByteBuffer}) for percentiles not listed here.
+ */
+record Report(
+        String commit,
+        Instant startedAt,
+        Settings settings,
+        long maxDispatchLagMicros,
+        RouteResult total,
+        List<RouteResult> routes
+) {
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    record Settings(
+            double rate,
+            String arrivals,
+            long warmupSeconds,
+            long durationSeconds,
+            int users,
+            String mix,
+            long seed
+    ) {
+    }
+
+    record RouteResult(
+            String route,
+            String request,
+            long count,
+            long errors,
+            double throughput,
+            Map<Integer, Long> statuses,
+            Latency latencyMs,
+            String histogram
+    ) {
+    }
+
+    record Latency(double p50, double p90, double p99, double p999, double max, double mean) {
+    }
+
+    static Report of(LoadTestConfig config, Instant startedAt, LatencyRecorder recorder, long maxDispatchLagMicros) {
+        double seconds = config.duration().toMillis() / 1000.0;
+        List<RouteResult> routes = new ArrayList<>();
+        long totalErrors = 0;
+        for (Route route : Route.values()) {
+            Histogram histogram = recorder.histogram(route);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            Map<Integer, Long> statuses = recorder.statuses(route);
+            long errors = statuses.entrySet().stream()
+                    .filter(e -> LatencyRecorder.isError(e.getKey()))
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+            totalErrors += errors;
+            routes.add(result(route.key(), route.description(), histogram, errors, statuses, seconds));
+        }
+
+        Settings settings = new Settings(
+                config.rate(),
+                config.poisson() ? "poisson" : "constant",
+                config.warmup().toSeconds(),
+                config.duration().toSeconds(),
+                config.users(),
+                config.mix().toString(),
+                config.seed());
+        return new Report(config.commit(), startedAt, settings, maxDispatchLagMicros,
+                result("total", "all requests", recorder.all(), totalErrors, Map.of(), seconds), routes);
+    }
+
+    Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve("loadtest-" + FILE_TIMESTAMP.format(startedAt) + "-" + commit + ".json");
+        JsonMapper jsonMapper = JsonMapper.builder()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .build();
+        jsonMapper.writeValue(file.toFile(), this);
+        return file;
+    }
+
+    String table() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("%-22s %9s %7s %9s %9s %9s %9s %9s%n",
+                "route", "count", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (RouteResult route : routes) {
+            row(builder, route);
+        }
+        row(builder, total);
+        return builder.toString();
+    }
+
+    private static void row(StringBuilder builder, RouteResult route) {
+        builder.append(String.format("%-22s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                route.route(), route.count(), route.errors(), route.throughput(),
+                route.latencyMs().p50(), route.latencyMs().p99(), route.latencyMs().p999(), route.latencyMs().max()));
+    }
+
+    private static RouteResult result(String name, String request, Histogram histogram, long errors,
+                                      Map<Integer, Long> statuses, double seconds) {
+        Latency latency = new Latency(
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()),
+                Math.round(histogram.getMean()) / 1000.0);
+        return new RouteResult(name, request, histogram.getTotalCount(), errors,
+                Math.round(histogram.getTotalCount() / seconds * 10) / 10.0, statuses, latency, encode(histogram));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+}
@@ -0,0 +1,45 @@
+package com.devwebsite.backend.loadtest;
+
+/**
+ * Operations in the workload mix. Each arrival issues exactly one request, recorded under its route.
+ */
+public enum Route {
+    REGISTER("register", "POST /api/v1/auth/register"),
+    LOGIN("login", "POST /api/v1/auth/login"),
+    REFRESH("refresh", "POST /api/v1/auth/refresh"),
+    ANNOUNCEMENT_LIST("announcement-list", "GET /api/v1/announcements"),
+    ANNOUNCEMENT_DETAIL("announcement-detail", "GET /api/v1/announcements/{id}"),
+    ANNOUNCEMENT_FEED("announcement-feed", "GET /api/v1/announcements/feed"),
+    RELEASE_LIST("release-list", "GET /api/v1/releases"),
+    RELEASE_DETAIL("release-detail", "GET /api/v1/releases/{id}"),
+    RELEASE_FEED("release-feed", "GET /api/v1/releases/feed"),
+    SUBSCRIPTION("subscription", "GET /api/v1/subscription"),
+    API_KEY_LIST("api-key-list", "GET /api/v1/api-keys"),
+    API_KEY_CREATE("api-key-create", "POST /api/v1/api-keys"),
+    API_KEY_DELETE("api-key-delete", "DELETE /api/v1/api-keys/{id}");
+
+    private final String key;
+    private final String description;
+
+    Route(String key, String description) {
+        this.key = key;
+        this.description = description;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public String description() {
+        return description;
+    }
+
+    public static Route fromKey(String key) {
+        for (Route route : values()) {
+            if (route.key.equals(key)) {
+                return route;
+            }
+        }
+        throw new IllegalArgumentException("Unknown route in loadtest.mix: " + key);
+    }
+}
@@ -0,0 +1,73 @@
+package com.devwebsite.backend.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted route selection, parsed from {@code route=weight,...}. Routes left out are never issued.
+ */
+public final class RouteMix {
+
+    private final Map<Route, Integer> weights;
+    private final Route[] routes;
+    private final int[] cumulative;
+
+    private RouteMix(Map<Route, Integer> weights) {
+        this.weights = weights;
+        this.routes = weights.keySet().toArray(Route[]::new);
+        this.cumulative = new int[routes.length];
+        int total = 0;
+        for (int i = 0; i < routes.length; i++) {
+            total += weights.get(routes[i]);
+            cumulative[i] = total;
+        }
+    }
+
+    public static RouteMix parse(String spec) {
+        Map<Route, Integer> weights = new EnumMap<>(Route.class);
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in loadtest.mix: " + entry);
+            }
+            if (weight > 0) {
+                weights.put(Route.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix has no routes");
+        }
+        return new RouteMix(weights);
+    }
+
+    public Route pick(RandomGenerator random) {
+        int value = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (value < cumulative[i]) {
+                return routes[i];
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    public Map<Route, Integer> weights() {
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        weights.forEach((route, weight) -> {
+            if (!builder.isEmpty()) {
+                builder.append(',');
+            }
+            builder.append(route.key()).append('=').append(weight);
+        });
+        return builder.toString();
+    }
+}
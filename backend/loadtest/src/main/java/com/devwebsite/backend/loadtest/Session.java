@@ -0,0 +1,84 @@
+package com.devwebsite.backend.loadtest;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A registered user as a browser would hold it: the access token in memory and the refresh token cookie.
+ * Login and refresh replace the cookie, so they run one at a time per session; a real client never rotates
+ * the same refresh token twice in parallel, and doing so would trip reuse detection.
+ */
+final class Session {
+
+    static final int MAX_API_KEYS = 10;
+
+    private final String email;
+    private final String password;
+    private final ReentrantLock authLock = new ReentrantLock();
+    private final Deque<Long> apiKeyIds = new ArrayDeque<>();
+
+    private volatile String accessToken;
+    private String refreshToken;
+
+    Session(String email, String password) {
+        this.email = email;
+        this.password = password;
+    }
+
+    String email() {
+        return email;
+    }
+
+    String password() {
+        return password;
+    }
+
+    String accessToken() {
+        return accessToken;
+    }
+
+    void accessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+
+    /** Guards {@link #refreshToken()}; held for the whole login or refresh exchange. */
+    ReentrantLock authLock() {
+        return authLock;
+    }
+
+    String refreshToken() {
+        return refreshToken;
+    }
+
+    void refreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    /** Reserves a slot for a new API key, or returns false when the user already has the maximum. */
+    synchronized boolean reserveApiKey() {
+        if (apiKeyIds.size() >= MAX_API_KEYS) {
+            return false;
+        }
+        apiKeyIds.push(-1L);
+        return true;
+    }
+
+    synchronized void apiKeyCreated(Long id) {
+        apiKeyIds.remove(-1L);
+        if (id != null) {
+            apiKeyIds.push(id);
+        }
+    }
+
+    /** Takes the most recently created key to delete, or null when the user has none. */
+    synchronized Long takeApiKey() {
+        for (Long id : apiKeyIds) {
+            if (id > 0) {
+                apiKeyIds.remove(id);
+                return id;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,238 @@
+package com.devwebsite.backend.loadtest;
+
+import tools.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Issues the requests behind each {@link Route} and prepares the data they need: a pool of registered
+ * sessions and the ids of published announcements and releases.
+ */
+final class Workload {
+
+    private static final String PASSWORD = "loadtest-password";
+    private static final int SETUP_PARALLELISM = 8;
+    private static final String[] RELEASE_TYPES = {"MAJOR", "MINOR", "PATCH", "HOTFIX"};
+
+    /**
+     * What an arrival actually did. API key create and delete swap when the user has no room or no keys left,
+     * which keeps every user within the ten-key limit.
+     */
+    record Outcome(Route route, int status) {
+    }
+
+    private final ApiClient client;
+    private final String runId;
+    private final AtomicLong registrations = new AtomicLong();
+    private final List<Session> sessions = new ArrayList<>();
+    private final List<Long> announcementIds = new ArrayList<>();
+    private final List<Long> releaseIds = new ArrayList<>();
+
+    Workload(ApiClient client, String runId) {
+        this.client = client;
+        this.runId = runId;
+    }
+
+    /**
+     * Registers {@code users} sessions and makes sure at least {@code minContent} published announcements and
+     * releases exist, creating the shortfall through the admin API.
+     */
+    void prepare(LoadTestConfig config) throws Exception {
+        ensureContent("/api/v1/announcements", "/api/v1/admin/announcements", announcementIds, config,
+                i -> Map.of(
+                        "title", "Load test notice " + runId + "-" + i,
+                        "content", "Synthetic announcement body for load testing. ".repeat(20),
+                        "category", "general",
+                        "published", true));
+        ensureContent("/api/v1/releases", "/api/v1/admin/releases", releaseIds, config,
+                i -> Map.of(
+                        "version", "lt-" + runId + "-" + i,
+                        "title", "Load test release " + i,
+                        "content", "Synthetic release notes for load testing. ".repeat(20),
+                        "releaseType", RELEASE_TYPES[i % RELEASE_TYPES.length],
+                        "releasedAt", LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minusMinutes(i).toString()));
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(SETUP_PARALLELISM, Thread.ofVirtual().factory())) {
+            List<Future<Session>> pending = new ArrayList<>();
+            for (int i = 0; i < config.users(); i++) {
+                pending.add(executor.submit(() -> {
+                    Session session = newSession();
+                    HttpResponse<byte[]> response = register(session);
+                    expect(response, 201, "register " + session.email());
+                    signedIn(session, response);
+                    return session;
+                }));
+            }
+            for (Future<Session> future : pending) {
+                sessions.add(future.get());
+            }
+        }
+    }
+
+    List<Session> sessions() {
+        return sessions;
+    }
+
+    /**
+     * Issues one request for {@code route} on behalf of {@code session}; returns null in the rare case that
+     * there was nothing to do (every key slot of the user is busy with a concurrent create).
+     */
+    Outcome issue(Route route, Session session, RandomGenerator random) throws IOException, InterruptedException {
+        return switch (route) {
+            case REGISTER -> new Outcome(route, register(newSession()).statusCode());
+            case LOGIN -> new Outcome(route, login(session));
+            case REFRESH -> new Outcome(route, refresh(session));
+            case ANNOUNCEMENT_LIST -> new Outcome(route,
+                    client.get("/api/v1/announcements?page=" + random.nextInt(5), null).statusCode());
+            case ANNOUNCEMENT_DETAIL -> new Outcome(route,
+                    client.get("/api/v1/announcements/" + pick(announcementIds, random), null).statusCode());
+            case ANNOUNCEMENT_FEED -> new Outcome(route,
+                    client.get("/api/v1/announcements/feed?limit=20", null).statusCode());
+            case RELEASE_LIST -> new Outcome(route,
+                    client.get("/api/v1/releases?page=" + random.nextInt(5), null).statusCode());
+            case RELEASE_DETAIL -> new Outcome(route,
+                    client.get("/api/v1/releases/" + pick(releaseIds, random), null).statusCode());
+            case RELEASE_FEED -> new Outcome(route,
+                    client.get("/api/v1/releases/feed?limit=20", null).statusCode());
+            case SUBSCRIPTION -> new Outcome(route,
+                    client.get("/api/v1/subscription", session.accessToken()).statusCode());
+            case API_KEY_LIST -> new Outcome(route,
+                    client.get("/api/v1/api-keys", session.accessToken()).statusCode());
+            case API_KEY_CREATE -> session.reserveApiKey() ? createApiKey(session) : deleteApiKey(session);
+            case API_KEY_DELETE -> {
+                Long id = session.takeApiKey();
+                if (id != null) {
+                    yield deleteApiKey(session, id);
+                }
+                yield session.reserveApiKey() ? createApiKey(session) : null;
+            }
+        };
+    }
+
+    private Session newSession() {
+        long n = registrations.incrementAndGet();
+        return new Session("loadtest-" + runId + "-" + n + "@example.test", PASSWORD);
+    }
+
+    private HttpResponse<byte[]> register(Session session) throws IOException, InterruptedException {
+        return client.post("/api/v1/auth/register", null, Map.of(
+                "email", session.email(),
+                "password", session.password(),
+                "nickname", session.email().substring(0, session.email().indexOf('@'))));
+    }
+
+    private int login(Session session) throws IOException, InterruptedException {
+        session.authLock().lock();
+        try {
+            HttpResponse<byte[]> response = client.post("/api/v1/auth/login", null, Map.of(
+                    "email", session.email(),
+                    "password", session.password()));
+            if (response.statusCode() == 200) {
+                signedIn(session, response);
+            }
+            return response.statusCode();
+        } finally {
+            session.authLock().unlock();
+        }
+    }
+
+    private int refresh(Session session) throws IOException, InterruptedException {
+        session.authLock().lock();
+        try {
+            HttpResponse<byte[]> response = client.refresh(session.refreshToken());
+            if (response.statusCode() == 200) {
+                session.accessToken(client.json(response).path("accessToken").asString());
+                String rotated = ApiClient.refreshTokenCookie(response);
+                if (rotated != null) {
+                    session.refreshToken(rotated);
+                }
+            }
+            return response.statusCode();
+        } finally {
+            session.authLock().unlock();
+        }
+    }
+
+    private Outcome createApiKey(Session session) throws IOException, InterruptedException {
+        Long id = null;
+        try {
+            HttpResponse<byte[]> response = client.post("/api/v1/api-keys", session.accessToken(),
+                    Map.of("name", "loadtest"));
+            if (response.statusCode() == 201) {
+                id = client.json(response).path("id").asLong();
+            }
+            return new Outcome(Route.API_KEY_CREATE, response.statusCode());
+        } finally {
+            session.apiKeyCreated(id);
+        }
+    }
+
+    private Outcome deleteApiKey(Session session) throws IOException, InterruptedException {
+        Long id = session.takeApiKey();
+        return id == null ? null : deleteApiKey(session, id);
+    }
+
+    private Outcome deleteApiKey(Session session, Long id) throws IOException, InterruptedException {
+        return new Outcome(Route.API_KEY_DELETE,
+                client.delete("/api/v1/api-keys/" + id, session.accessToken()).statusCode());
+    }
+
+    private void signedIn(Session session, HttpResponse<byte[]> response) {
+        session.accessToken(client.json(response).path("accessToken").asString());
+        session.refreshToken(ApiClient.refreshTokenCookie(response));
+    }
+
+    private void ensureContent(String listPath, String adminPath, List<Long> ids, LoadTestConfig config,
+                               IntFunction<Map<String, ?>> body) throws Exception {
+        collectIds(listPath, ids, config.minContent());
+        if (ids.size() >= config.minContent()) {
+            return;
+        }
+
+        HttpResponse<byte[]> login = client.post("/api/v1/auth/login", null, Map.of(
+                "email", config.adminEmail(),
+                "password", config.adminPassword()));
+        expect(login, 200, "admin login");
+        String adminToken = client.json(login).path("accessToken").asString();
+        for (int i = ids.size(); i < config.minContent(); i++) {
+            expect(client.post(adminPath, adminToken, body.apply(i)), 201, "create " + adminPath);
+        }
+        collectIds(listPath, ids, config.minContent());
+    }
+
+    private void collectIds(String listPath, List<Long> ids, int wanted) throws Exception {
+        ids.clear();
+        for (int page = 0; ids.size() < wanted; page++) {
+            HttpResponse<byte[]> response = client.get(listPath + "?size=100&page=" + page, null);
+            expect(response, 200, "list " + listPath);
+            JsonNode content = client.json(response).path("content");
+            if (content.isEmpty()) {
+                return;
+            }
+            content.forEach(item -> ids.add(item.path("id").asLong()));
+        }
+    }
+
+    private static long pick(List<Long> ids, RandomGenerator random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static void expect(HttpResponse<byte[]> response, int status, String action) {
+        if (response.statusCode() != status) {
+            throw new IllegalStateException(action + " returned " + response.statusCode() + ": "
+                    + new String(response.body()));
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.devwebsite.backend.announcement.controller;
 
 import com.devwebsite.backend.announcement.dto.AnnouncementResponse;
+import com.devwebsite.backend.announcement.dto.AnnouncementSummaryResponse;
 import com.devwebsite.backend.announcement.service.AnnouncementService;
+import com.devwebsite.backend.common.web.ContentVersion;
+import com.devwebsite.backend.common.web.Cursor;
+import com.devwebsite.backend.common.web.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,12 +17,15 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/announcements")
 @Tag(name = "Announcements", description = "Public announcement endpoints")
 public class AnnouncementController {
 
+    private static final int MAX_FEED_LIMIT = 100;
+
     private final AnnouncementService announcementService;
 
     public AnnouncementController(AnnouncementService announcementService) {
@@ -28,15 +35,23 @@ public class AnnouncementController {
     @GetMapping
     @Operation(summary = "Get published announcements")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Announcements retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Announcements retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Announcements not modified")
     })
-    public ResponseEntity<Page<AnnouncementResponse>> getAnnouncements(
+    public ResponseEntity<Page<AnnouncementSummaryResponse>> getAnnouncements(
             @Parameter(description = "Filter by category")
             @RequestParam(required = false) String category,
-            @PageableDefault(size = 10, sort = "publishedAt", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 10, sort = "publishedAt", direction = Sort.Direction.DESC) Pageable pageable,
+            WebRequest webRequest) {
+
+        boolean filtered = category != null && !category.isBlank();
+        ContentVersion version = announcementService.getPublishedVersion(filtered ? category : null);
+        if (webRequest.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null;
+        }
 
-        Page<AnnouncementResponse> announcements;
-        if (category != null && !category.isBlank()) {
+        Page<AnnouncementSummaryResponse> announcements;
+        if (filtered) {
             announcements = announcementService.getPublishedAnnouncementsByCategory(category, pageable);
         } else {
             announcements = announcementService.getPublishedAnnouncements(pageable);
@@ -45,14 +60,41 @@ public class AnnouncementController {
         return ResponseEntity.ok(announcements);
     }
 
+    @GetMapping("/feed")
+    @Operation(summary = "Get published announcements as a cursor-paginated feed")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Announcements retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    public ResponseEntity<CursorPage<AnnouncementSummaryResponse>> getAnnouncementFeed(
+            @Parameter(description = "Filter by category")
+            @RequestParam(required = false) String category,
+            @Parameter(description = "Cursor returned as nextCursor by the previous call")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of items (1-100)")
+            @RequestParam(defaultValue = "10") int limit) {
+
+        CursorPage<AnnouncementSummaryResponse> feed = announcementService.getPublishedFeed(
+                category != null && !category.isBlank() ? category : null,
+                after != null ? Cursor.decode(after) : null,
+                Math.clamp(limit, 1, MAX_FEED_LIMIT));
+        return ResponseEntity.ok(feed);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get a published announcement by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Announcement retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Announcement not modified"),
             @ApiResponse(responseCode = "404", description = "Announcement not found")
     })
-    public ResponseEntity<AnnouncementResponse> getAnnouncement(@PathVariable Long id) {
+    public ResponseEntity<AnnouncementResponse> getAnnouncement(@PathVariable Long id, WebRequest webRequest) {
+        // Served from the detail cache, so the version check needs no query on a hit
         AnnouncementResponse announcement = announcementService.getPublishedAnnouncement(id);
+        ContentVersion version = ContentVersion.of(announcement.updatedAt());
+        if (webRequest.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null;
+        }
         return ResponseEntity.ok(announcement);
     }
 }
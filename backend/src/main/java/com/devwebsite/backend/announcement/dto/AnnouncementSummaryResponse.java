@@ -0,0 +1,24 @@
+package com.devwebsite.backend.announcement.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * List view of a published announcement. Built directly by a JPQL constructor query,
+ * so neither the full content nor the author entity is loaded.
+ */
+public record AnnouncementSummaryResponse(
+        Long id,
+        String title,
+        String excerpt,
+        String category,
+        LocalDateTime publishedAt,
+        AnnouncementResponse.AuthorInfo author
+) {
+    public static final int EXCERPT_LENGTH = 200;
+
+    public AnnouncementSummaryResponse(Long id, String title, String excerpt, String category,
+                                       LocalDateTime publishedAt, Long authorId, String authorNickname) {
+        this(id, title, excerpt, category, publishedAt,
+                authorId != null ? new AnnouncementResponse.AuthorInfo(authorId, authorNickname) : null);
+    }
+}
@@ -1,6 +1,9 @@
 package com.devwebsite.backend.announcement.repository;
 
+import com.devwebsite.backend.announcement.dto.AnnouncementSummaryResponse;
 import com.devwebsite.backend.announcement.entity.Announcement;
+import com.devwebsite.backend.common.web.ContentVersion;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,19 +11,55 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AnnouncementRepository extends JpaRepository<Announcement, Long> {
 
-    @Query("SELECT a FROM Announcement a LEFT JOIN FETCH a.author WHERE a.published = true ORDER BY a.publishedAt DESC")
-    Page<Announcement> findAllPublished(Pageable pageable);
+    // Public list views select the summary columns and an excerpt only; full content is loaded for the detail view
+    String SUMMARY_SELECT = "SELECT new com.devwebsite.backend.announcement.dto.AnnouncementSummaryResponse(" +
+            "a.id, a.title, SUBSTRING(a.content, 1, " + AnnouncementSummaryResponse.EXCERPT_LENGTH + "), " +
+            "a.category, a.publishedAt, u.id, u.nickname) " +
+            "FROM Announcement a LEFT JOIN a.author u ";
+
+    @Query(value = SUMMARY_SELECT + "WHERE a.published = true ORDER BY a.publishedAt DESC",
+            countQuery = "SELECT COUNT(a) FROM Announcement a WHERE a.published = true")
+    Page<AnnouncementSummaryResponse> findPublishedSummaries(Pageable pageable);
 
     @Query("SELECT a FROM Announcement a LEFT JOIN FETCH a.author WHERE a.published = true AND a.id = :id")
     Optional<Announcement> findByIdAndPublishedTrue(@Param("id") Long id);
 
-    @Query("SELECT a FROM Announcement a LEFT JOIN FETCH a.author WHERE a.published = true AND a.category = :category ORDER BY a.publishedAt DESC")
-    Page<Announcement> findAllPublishedByCategory(@Param("category") String category, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE a.published = true AND a.category = :category ORDER BY a.publishedAt DESC",
+            countQuery = "SELECT COUNT(a) FROM Announcement a WHERE a.published = true AND a.category = :category")
+    Page<AnnouncementSummaryResponse> findPublishedSummariesByCategory(@Param("category") String category, Pageable pageable);
+
+    // Keyset feeds: seek on (published_at, id) and never count
+
+    @Query(SUMMARY_SELECT + "WHERE a.published = true ORDER BY a.publishedAt DESC, a.id DESC")
+    List<AnnouncementSummaryResponse> findPublishedFeed(Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE a.published = true " +
+            "AND (a.publishedAt, a.id) < (:publishedAt, :id) ORDER BY a.publishedAt DESC, a.id DESC")
+    List<AnnouncementSummaryResponse> findPublishedFeedAfter(@Param("publishedAt") LocalDateTime publishedAt,
+                                                             @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE a.published = true AND a.category = :category " +
+            "ORDER BY a.publishedAt DESC, a.id DESC")
+    List<AnnouncementSummaryResponse> findPublishedFeedByCategory(@Param("category") String category, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE a.published = true AND a.category = :category " +
+            "AND (a.publishedAt, a.id) < (:publishedAt, :id) ORDER BY a.publishedAt DESC, a.id DESC")
+    List<AnnouncementSummaryResponse> findPublishedFeedByCategoryAfter(@Param("category") String category,
+                                                                       @Param("publishedAt") LocalDateTime publishedAt,
+                                                                       @Param("id") Long id, Limit limit);
+
+    @Query("SELECT new com.devwebsite.backend.common.web.ContentVersion(MAX(a.updatedAt), COUNT(a)) FROM Announcement a WHERE a.published = true")
+    ContentVersion findPublishedVersion();
+
+    @Query("SELECT new com.devwebsite.backend.common.web.ContentVersion(MAX(a.updatedAt), COUNT(a)) FROM Announcement a WHERE a.published = true AND a.category = :category")
+    ContentVersion findPublishedVersionByCategory(@Param("category") String category);
 
     @Query("SELECT a FROM Announcement a LEFT JOIN FETCH a.author ORDER BY a.createdAt DESC")
     Page<Announcement> findAllWithAuthor(Pageable pageable);
@@ -0,0 +1,191 @@
+package com.devwebsite.backend.announcement.service;
+
+import com.devwebsite.backend.announcement.dto.AnnouncementResponse;
+import com.devwebsite.backend.announcement.dto.AnnouncementSummaryResponse;
+import com.devwebsite.backend.common.transaction.AfterCommit;
+import com.devwebsite.backend.common.web.ContentVersion;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the public announcement views: published pages keyed by
+ * (category, page, size, sort), published announcements keyed by id, and the listing
+ * {@link ContentVersion} per category used for conditional GETs.
+ * Both caches are bounded by an estimated size in bytes, published as the {@code cache.weight} gauge
+ * alongside the usual {@code cache.*} metrics ({@code cache=announcementPages|announcementDetails}).
+ * <p>
+ * Page keys carry a per-category generation. Eviction bumps the generation before dropping entries,
+ * so a page load that started before the commit can never be served after it.
+ * Writes on other nodes are picked up by {@link AnnouncementCacheSync}; the TTL stays as a backstop.
+ */
+@Component
+public class AnnouncementCache {
+
+    private static final String PAGES_CACHE_NAME = "announcementPages";
+    private static final String DETAILS_CACHE_NAME = "announcementDetails";
+    private static final String VERSIONS_CACHE_NAME = "announcementVersions";
+
+    /** Generation slot for the unfiltered listing; category names are never empty. */
+    private static final String ALL_CATEGORIES = "";
+
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+    private static final int ANNOUNCEMENT_OVERHEAD_BYTES = 256;
+
+    private final Cache<PageKey, Page<AnnouncementSummaryResponse>> pages;
+    private final Cache<Long, AnnouncementResponse> details;
+    private final Cache<VersionKey, ContentVersion> versions;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public AnnouncementCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.announcement.cache.ttl:10m}") Duration ttl,
+            @Value("${app.announcement.cache.max-pages-size:16MB}") DataSize maxPagesSize,
+            @Value("${app.announcement.cache.max-details-size:16MB}") DataSize maxDetailsSize) {
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(maxPagesSize.toBytes())
+                .weigher((PageKey key, Page<AnnouncementSummaryResponse> page) -> weigh(page))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.details = Caffeine.newBuilder()
+                .maximumWeight(maxDetailsSize.toBytes())
+                .weigher((Long id, AnnouncementResponse announcement) -> weigh(announcement))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        monitor(meterRegistry, pages, PAGES_CACHE_NAME);
+        monitor(meterRegistry, details, DETAILS_CACHE_NAME);
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, VERSIONS_CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached page or loads it. {@code category} is {@code null} for the unfiltered listing.
+     */
+    public Page<AnnouncementSummaryResponse> getPage(String category, Pageable pageable,
+                                                     Supplier<Page<AnnouncementSummaryResponse>> loader) {
+        String slot = category != null ? category : ALL_CATEGORIES;
+        PageKey key = new PageKey(slot, generation(slot).get(),
+                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        return pages.get(key, k -> loader.get());
+    }
+
+    /**
+     * Returns the cached listing version or loads it. {@code category} is {@code null} for the unfiltered listing.
+     */
+    public ContentVersion getVersion(String category, Supplier<ContentVersion> loader) {
+        String slot = category != null ? category : ALL_CATEGORIES;
+        return versions.get(new VersionKey(slot, generation(slot).get()), k -> loader.get());
+    }
+
+    /**
+     * Returns the cached announcement or loads it. Missing announcements (loader returns {@code null}) are not cached.
+     */
+    public AnnouncementResponse getDetail(Long id, Function<Long, AnnouncementResponse> loader) {
+        return details.get(id, loader);
+    }
+
+    /**
+     * Evicts the pages of the given categories plus the unfiltered listing, and the announcement itself,
+     * once the surrounding transaction commits. Pass both the old and new category when it changed.
+     */
+    public void evict(Long id, String... categories) {
+        AfterCommit.run(() -> {
+            Set<String> slots = new HashSet<>();
+            slots.add(ALL_CATEGORIES);
+            for (String category : categories) {
+                if (category != null) {
+                    slots.add(category);
+                }
+            }
+            slots.forEach(slot -> generation(slot).incrementAndGet());
+            pages.asMap().keySet().removeIf(key -> slots.contains(key.category()));
+            versions.asMap().keySet().removeIf(key -> slots.contains(key.category()));
+            if (id != null) {
+                details.invalidate(id);
+            }
+        });
+    }
+
+    /**
+     * Evicts everything right away, after a change this node did not make.
+     */
+    public void evictAll() {
+        generations.values().forEach(AtomicLong::incrementAndGet);
+        pages.invalidateAll();
+        versions.invalidateAll();
+        details.invalidateAll();
+    }
+
+    private AtomicLong generation(String slot) {
+        return generations.computeIfAbsent(slot, s -> new AtomicLong());
+    }
+
+    private static int weigh(Page<AnnouncementSummaryResponse> page) {
+        long bytes = ENTRY_OVERHEAD_BYTES;
+        for (AnnouncementSummaryResponse announcement : page.getContent()) {
+            long chars = length(announcement.title()) + length(announcement.excerpt()) + length(announcement.category());
+            if (announcement.author() != null) {
+                chars += length(announcement.author().nickname());
+            }
+            bytes += ANNOUNCEMENT_OVERHEAD_BYTES + chars * 2;
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static int weigh(AnnouncementResponse announcement) {
+        // Strings may be UTF-16 backed (e.g. Korean text), so count two bytes per char
+        long chars = length(announcement.title()) + length(announcement.content()) + length(announcement.category());
+        if (announcement.author() != null) {
+            chars += length(announcement.author().nickname());
+        }
+        return (int) Math.min(ANNOUNCEMENT_OVERHEAD_BYTES + chars * 2, Integer.MAX_VALUE);
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    private static void monitor(MeterRegistry meterRegistry, Cache<?, ?> cache, String name) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        Gauge.builder("cache.weight", cache, AnnouncementCache::weightedSize)
+                .tag("cache", name)
+                .description("Estimated size in bytes of the cached entries")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    private static double weightedSize(Cache<?, ?> cache) {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    private record PageKey(String category, long generation, int page, int size, Sort sort) {
+    }
+
+    private record VersionKey(String category, long generation) {
+    }
+}
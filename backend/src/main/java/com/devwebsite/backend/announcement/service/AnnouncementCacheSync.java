@@ -0,0 +1,45 @@
+package com.devwebsite.backend.announcement.service;
+
+import com.devwebsite.backend.announcement.repository.AnnouncementRepository;
+import com.devwebsite.backend.common.web.ContentVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the per-node {@link AnnouncementCache} in step across nodes. A write evicts the entries of the node that
+ * served it; every node also polls the version of the published listing (latest {@code updated_at} plus row count,
+ * so publishing, editing, unpublishing and deleting all change it) and drops its whole cache when it moved.
+ * Another node therefore serves stale pages, details and entity tags for at most about one sync interval.
+ * The poll is the same aggregate that answers conditional GETs, one index-only scan of the published rows.
+ * Announcements change rarely, so clearing everything beats tracking which entries a change touched.
+ */
+@Component
+public class AnnouncementCacheSync {
+
+    private static final Logger log = LoggerFactory.getLogger(AnnouncementCacheSync.class);
+
+    private final AnnouncementRepository announcementRepository;
+    private final AnnouncementCache announcementCache;
+    private volatile ContentVersion lastVersion;
+
+    public AnnouncementCacheSync(AnnouncementRepository announcementRepository, AnnouncementCache announcementCache) {
+        this.announcementRepository = announcementRepository;
+        this.announcementCache = announcementCache;
+    }
+
+    @Scheduled(fixedDelayString = "${app.announcement.cache.sync-interval-ms:10000}")
+    public void evictIfChanged() {
+        // Read past the cache: the cached version is what may be stale
+        ContentVersion version = announcementRepository.findPublishedVersion();
+        ContentVersion previous = lastVersion;
+        lastVersion = version;
+
+        if (previous != null && !previous.equals(version)) {
+            announcementCache.evictAll();
+            log.debug("Published announcements changed ({} -> {}), cleared the announcement cache",
+                    previous.eTag(), version.eTag());
+        }
+    }
+}
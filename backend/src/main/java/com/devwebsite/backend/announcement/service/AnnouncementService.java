@@ -1,43 +1,94 @@
 package com.devwebsite.backend.announcement.service;
 
 import com.devwebsite.backend.announcement.dto.AnnouncementResponse;
+import com.devwebsite.backend.announcement.dto.AnnouncementSummaryResponse;
 import com.devwebsite.backend.announcement.dto.CreateAnnouncementRequest;
 import com.devwebsite.backend.announcement.dto.UpdateAnnouncementRequest;
 import com.devwebsite.backend.announcement.entity.Announcement;
 import com.devwebsite.backend.announcement.repository.AnnouncementRepository;
 import com.devwebsite.backend.common.exception.ResourceNotFoundException;
+import com.devwebsite.backend.common.web.ContentVersion;
+import com.devwebsite.backend.common.web.Cursor;
+import com.devwebsite.backend.common.web.CursorPage;
 import com.devwebsite.backend.user.entity.User;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 public class AnnouncementService {
 
     private final AnnouncementRepository announcementRepository;
+    private final AnnouncementCache announcementCache;
+    private final TransactionTemplate readOnlyTransaction;
 
-    public AnnouncementService(AnnouncementRepository announcementRepository) {
+    public AnnouncementService(AnnouncementRepository announcementRepository, AnnouncementCache announcementCache,
+                               PlatformTransactionManager transactionManager) {
         this.announcementRepository = announcementRepository;
+        this.announcementCache = announcementCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
-    @Transactional(readOnly = true)
-    public Page<AnnouncementResponse> getPublishedAnnouncements(Pageable pageable) {
-        return announcementRepository.findAllPublished(pageable)
-                .map(AnnouncementResponse::from);
+    // Public reads are not @Transactional: cache hits must not open a transaction or take a connection.
+    // On a miss the repository query and its count run in the repository's own read-only transaction;
+    // entities are mapped inside readOnlyTransaction, since open-in-view is off and nothing lazy loads later.
+
+    public Page<AnnouncementSummaryResponse> getPublishedAnnouncements(Pageable pageable) {
+        return announcementCache.getPage(null, pageable, () -> announcementRepository.findPublishedSummaries(pageable));
     }
 
-    @Transactional(readOnly = true)
-    public Page<AnnouncementResponse> getPublishedAnnouncementsByCategory(String category, Pageable pageable) {
-        return announcementRepository.findAllPublishedByCategory(category, pageable)
-                .map(AnnouncementResponse::from);
+    public Page<AnnouncementSummaryResponse> getPublishedAnnouncementsByCategory(String category, Pageable pageable) {
+        return announcementCache.getPage(category, pageable,
+                () -> announcementRepository.findPublishedSummariesByCategory(category, pageable));
     }
 
+    /**
+     * Keyset feed of published announcements, newest first. {@code after} is {@code null} for the first slice.
+     */
     @Transactional(readOnly = true)
+    public CursorPage<AnnouncementSummaryResponse> getPublishedFeed(String category, Cursor after, int limit) {
+        Limit fetch = Limit.of(limit + 1);
+        List<AnnouncementSummaryResponse> rows;
+        if (category != null) {
+            rows = after != null
+                    ? announcementRepository.findPublishedFeedByCategoryAfter(category, after.timestamp(), after.id(), fetch)
+                    : announcementRepository.findPublishedFeedByCategory(category, fetch);
+        } else {
+            rows = after != null
+                    ? announcementRepository.findPublishedFeedAfter(after.timestamp(), after.id(), fetch)
+                    : announcementRepository.findPublishedFeed(fetch);
+        }
+
+        return CursorPage.of(rows, limit, a -> new Cursor(a.publishedAt(), a.id()));
+    }
+
+    /**
+     * Version of the published listing, optionally narrowed to a category, answered without loading announcements.
+     */
+    public ContentVersion getPublishedVersion(String category) {
+        return announcementCache.getVersion(category, () -> category != null
+                ? announcementRepository.findPublishedVersionByCategory(category)
+                : announcementRepository.findPublishedVersion());
+    }
+
     public AnnouncementResponse getPublishedAnnouncement(Long id) {
-        Announcement announcement = announcementRepository.findByIdAndPublishedTrue(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Announcement not found"));
-        return AnnouncementResponse.from(announcement);
+        AnnouncementResponse announcement = announcementCache.getDetail(id, key -> readOnlyTransaction.execute(status ->
+                announcementRepository.findByIdAndPublishedTrue(key)
+                        .map(AnnouncementResponse::from)
+                        .orElse(null)));
+        if (announcement == null) {
+            throw new ResourceNotFoundException("Announcement not found");
+        }
+        return announcement;
     }
 
     @Transactional(readOnly = true)
@@ -64,6 +115,9 @@ public class AnnouncementService {
                 .build();
 
         announcement = announcementRepository.save(announcement);
+        if (announcement.isPublished()) {
+            announcementCache.evict(null, announcement.getCategory());
+        }
         return AnnouncementResponse.from(announcement);
     }
 
@@ -71,6 +125,8 @@ public class AnnouncementService {
     public AnnouncementResponse updateAnnouncement(Long id, UpdateAnnouncementRequest request) {
         Announcement announcement = announcementRepository.findByIdWithAuthor(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Announcement not found"));
+        boolean wasPublished = announcement.isPublished();
+        String previousCategory = announcement.getCategory();
 
         announcement.update(request.title(), request.content(), request.category());
 
@@ -78,14 +134,22 @@ public class AnnouncementService {
             announcement.setPublished(request.published());
         }
 
+        // Drafts that stay unpublished are not visible through the public views
+        if (wasPublished || announcement.isPublished()) {
+            announcementCache.evict(id, previousCategory, announcement.getCategory());
+        }
+
         return AnnouncementResponse.from(announcement);
     }
 
     @Transactional
     public void deleteAnnouncement(Long id) {
-        if (!announcementRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Announcement not found");
+        Announcement announcement = announcementRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Announcement not found"));
+        announcementRepository.delete(announcement);
+
+        if (announcement.isPublished()) {
+            announcementCache.evict(id, announcement.getCategory());
         }
-        announcementRepository.deleteById(id);
     }
 }
@@ -0,0 +1,12 @@
+package com.devwebsite.backend.apikey.dto;
+
+import com.devwebsite.backend.user.entity.User;
+
+/**
+ * Result of authenticating a raw API key: the key id and its owner.
+ */
+public record ApiKeyPrincipal(
+        Long apiKeyId,
+        User user
+) {
+}
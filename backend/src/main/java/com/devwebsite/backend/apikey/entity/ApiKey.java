@@ -1,5 +1,6 @@
 package com.devwebsite.backend.apikey.entity;
 
+import com.devwebsite.backend.common.security.TokenHasher;
 import com.devwebsite.backend.user.entity.User;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
@@ -29,8 +30,8 @@ public class ApiKey {
     @Column(name = "key_prefix", nullable = false, length = 20)
     private String keyPrefix;
 
-    @Column(name = "key_hash", nullable = false, length = 255)
-    private String keyHash;
+    @Column(name = "key_hash", nullable = false, length = TokenHasher.HASH_LENGTH)
+    private byte[] keyHash;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -39,7 +40,7 @@ public class ApiKey {
     private LocalDateTime lastUsedAt;
 
     @Builder
-    public ApiKey(User user, String name, String keyPrefix, String keyHash) {
+    public ApiKey(User user, String name, String keyPrefix, byte[] keyHash) {
         this.user = user;
         this.name = name;
         this.keyPrefix = keyPrefix;
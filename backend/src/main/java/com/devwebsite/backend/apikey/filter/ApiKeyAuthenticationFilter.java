@@ -0,0 +1,83 @@
+package com.devwebsite.backend.apikey.filter;
+
+import com.devwebsite.backend.apikey.dto.ApiKeyPrincipal;
+import com.devwebsite.backend.apikey.service.ApiKeyService;
+import com.devwebsite.backend.common.exception.ResourceNotFoundException;
+import com.devwebsite.backend.common.tracing.RequestTiming;
+import com.devwebsite.backend.user.entity.User;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates machine clients by API key, sent either as {@code X-API-Key: <key>}
+ * or {@code Authorization: ApiKey <key>}.
+ */
+@Component
+public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String API_KEY_ID_ATTRIBUTE = ApiKeyAuthenticationFilter.class.getName() + ".apiKeyId";
+
+    private static final Logger log = LoggerFactory.getLogger(ApiKeyAuthenticationFilter.class);
+    private static final String API_KEY_HEADER = "X-API-Key";
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String API_KEY_PREFIX = "ApiKey ";
+
+    private final ApiKeyService apiKeyService;
+
+    public ApiKeyAuthenticationFilter(ApiKeyService apiKeyService) {
+        this.apiKeyService = apiKeyService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String rawKey = getApiKeyFromRequest(request);
+
+        if (StringUtils.hasText(rawKey) && SecurityContextHolder.getContext().getAuthentication() == null) {
+            long started = System.nanoTime();
+            try {
+                ApiKeyPrincipal principal = apiKeyService.authenticate(rawKey);
+                User user = principal.user();
+
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                request.setAttribute(API_KEY_ID_ATTRIBUTE, principal.apiKeyId());
+            } catch (ResourceNotFoundException ex) {
+                log.warn("Invalid API key");
+            } catch (Exception ex) {
+                log.error("Could not set API key authentication in security context", ex);
+            }
+            RequestTiming.add(RequestTiming.Phase.AUTH, System.nanoTime() - started);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String getApiKeyFromRequest(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if (StringUtils.hasText(apiKey)) {
+            return apiKey.trim();
+        }
+
+        String authorization = request.getHeader(AUTHORIZATION_HEADER);
+        if (StringUtils.hasText(authorization) && authorization.startsWith(API_KEY_PREFIX)) {
+            return authorization.substring(API_KEY_PREFIX.length()).trim();
+        }
+        return null;
+    }
+}
@@ -3,10 +3,12 @@ package com.devwebsite.backend.apikey.repository;
 import com.devwebsite.backend.apikey.entity.ApiKey;
 import com.devwebsite.backend.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,10 +19,15 @@ public interface ApiKeyRepository extends JpaRepository<ApiKey, Long> {
 
     Optional<ApiKey> findByIdAndUser(Long id, User user);
 
-    Optional<ApiKey> findByKeyHash(String keyHash);
+    Optional<ApiKey> findByKeyHash(byte[] keyHash);
 
     @Query("SELECT a FROM ApiKey a JOIN FETCH a.user WHERE a.keyHash = :keyHash")
-    Optional<ApiKey> findByKeyHashWithUser(@Param("keyHash") String keyHash);
+    Optional<ApiKey> findByKeyHashWithUser(@Param("keyHash") byte[] keyHash);
 
     long countByUser(User user);
+
+    @Modifying
+    @Query("UPDATE ApiKey a SET a.lastUsedAt = :lastUsedAt " +
+            "WHERE a.id = :id AND (a.lastUsedAt IS NULL OR a.lastUsedAt < :lastUsedAt)")
+    int updateLastUsedAt(@Param("id") Long id, @Param("lastUsedAt") LocalDateTime lastUsedAt);
 }
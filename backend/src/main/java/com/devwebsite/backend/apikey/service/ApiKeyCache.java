@@ -0,0 +1,51 @@
+package com.devwebsite.backend.apikey.service;
+
+import com.devwebsite.backend.apikey.dto.ApiKeyPrincipal;
+import com.devwebsite.backend.common.transaction.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of authenticated API keys keyed by key hash.
+ */
+@Component
+public class ApiKeyCache {
+
+    private static final String CACHE_NAME = "apiKey";
+
+    private final Cache<ByteBuffer, ApiKeyPrincipal> cache;
+
+    public ApiKeyCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.api-key.cache.ttl:5m}") Duration ttl,
+            @Value("${app.api-key.cache.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached principal or loads it. Unknown keys (loader returns {@code null}) are not cached.
+     */
+    public ApiKeyPrincipal get(ByteBuffer keyHash, Function<ByteBuffer, ApiKeyPrincipal> loader) {
+        return cache.get(keyHash, loader);
+    }
+
+    /**
+     * Evicts the key once the surrounding transaction commits.
+     */
+    public void invalidate(ByteBuffer keyHash) {
+        AfterCommit.run(() -> cache.invalidate(keyHash));
+    }
+}
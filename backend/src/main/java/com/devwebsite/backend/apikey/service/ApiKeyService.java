@@ -1,23 +1,25 @@
 package com.devwebsite.backend.apikey.service;
 
 import com.devwebsite.backend.apikey.dto.ApiKeyCreatedResponse;
+import com.devwebsite.backend.apikey.dto.ApiKeyPrincipal;
 import com.devwebsite.backend.apikey.dto.ApiKeyResponse;
 import com.devwebsite.backend.apikey.dto.CreateApiKeyRequest;
 import com.devwebsite.backend.apikey.entity.ApiKey;
 import com.devwebsite.backend.apikey.repository.ApiKeyRepository;
 import com.devwebsite.backend.common.exception.ResourceNotFoundException;
+import com.devwebsite.backend.common.security.TokenHasher;
 import com.devwebsite.backend.user.entity.User;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.nio.ByteBuffer;
 import java.security.SecureRandom;
 import java.util.HexFormat;
 import java.util.List;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 public class ApiKeyService {
 
     private static final String KEY_PREFIX = "sk_";
@@ -26,10 +28,17 @@ public class ApiKeyService {
     private static final int MAX_KEYS_PER_USER = 10;
 
     private final ApiKeyRepository apiKeyRepository;
+    private final ApiKeyCache apiKeyCache;
+    private final ApiKeyUsageTracker usageTracker;
     private final SecureRandom secureRandom;
 
-    public ApiKeyService(ApiKeyRepository apiKeyRepository) {
+    public ApiKeyService(
+            ApiKeyRepository apiKeyRepository,
+            ApiKeyCache apiKeyCache,
+            ApiKeyUsageTracker usageTracker) {
         this.apiKeyRepository = apiKeyRepository;
+        this.apiKeyCache = apiKeyCache;
+        this.usageTracker = usageTracker;
         this.secureRandom = new SecureRandom();
     }
 
@@ -56,7 +65,7 @@ public class ApiKeyService {
         String displayPrefix = rawKey.substring(0, Math.min(DISPLAY_PREFIX_LENGTH, rawKey.length())) + "...";
 
         // Hash the key for storage
-        String keyHash = hashKey(rawKey);
+        byte[] keyHash = TokenHasher.hash(rawKey);
 
         // Create and save API key
         ApiKey apiKey = ApiKey.builder()
@@ -78,22 +87,38 @@ public class ApiKeyService {
                 .orElseThrow(() -> new ResourceNotFoundException("API key not found"));
 
         apiKeyRepository.delete(apiKey);
+        apiKeyCache.invalidate(ByteBuffer.wrap(apiKey.getKeyHash()));
     }
 
     /**
      * Validate an API key and return the associated user.
-     * Updates last_used_at timestamp.
      */
-    @Transactional
     public User validateApiKey(String rawKey) {
-        String keyHash = hashKey(rawKey);
+        return authenticate(rawKey).user();
+    }
+
+    /**
+     * Resolve an API key to its id and owner.
+     * Warm keys are served from the key-hash cache without a transaction;
+     * last_used_at is recorded in memory and flushed by {@link ApiKeyUsageTracker}.
+     */
+    public ApiKeyPrincipal authenticate(String rawKey) {
+        ByteBuffer keyHash = ByteBuffer.wrap(TokenHasher.hash(rawKey));
 
-        ApiKey apiKey = apiKeyRepository.findByKeyHashWithUser(keyHash)
-                .orElseThrow(() -> new ResourceNotFoundException("Invalid API key"));
+        ApiKeyPrincipal principal = apiKeyCache.get(keyHash, this::loadPrincipal);
+        if (principal == null) {
+            throw new ResourceNotFoundException("Invalid API key");
+        }
 
-        apiKey.updateLastUsedAt();
+        usageTracker.recordUsage(principal.apiKeyId());
 
-        return apiKey.getUser();
+        return principal;
+    }
+
+    private ApiKeyPrincipal loadPrincipal(ByteBuffer keyHash) {
+        return apiKeyRepository.findByKeyHashWithUser(keyHash.array())
+                .map(apiKey -> new ApiKeyPrincipal(apiKey.getId(), apiKey.getUser()))
+                .orElse(null);
     }
 
     private String generateRawKey() {
@@ -102,14 +127,4 @@ public class ApiKeyService {
         String randomPart = HexFormat.of().formatHex(randomBytes);
         return KEY_PREFIX + randomPart;
     }
-
-    private String hashKey(String key) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(key.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256 algorithm not available", e);
-        }
-    }
 }
@@ -0,0 +1,54 @@
+package com.devwebsite.backend.apikey.service;
+
+import com.devwebsite.backend.apikey.repository.ApiKeyRepository;
+import com.devwebsite.backend.common.transaction.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind recorder for API key last_used_at.
+ * Usage is kept in memory and flushed periodically as one UPDATE per key,
+ * instead of a write transaction per authenticated request.
+ */
+@Component
+public class ApiKeyUsageTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiKeyUsageTracker.class);
+
+    private final ApiKeyRepository apiKeyRepository;
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    public ApiKeyUsageTracker(ApiKeyRepository apiKeyRepository) {
+        this.apiKeyRepository = apiKeyRepository;
+    }
+
+    public void recordUsage(Long apiKeyId) {
+        pending.put(apiKeyId, LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${app.api-key.usage-flush-interval-ms:60000}")
+    @EventListener(ContextClosedEvent.class)
+    @Transactional
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<Long, LocalDateTime> batch = Map.copyOf(pending);
+        batch.forEach(apiKeyRepository::updateLastUsedAt);
+
+        // Entries leave the queue only once the updates are committed, so a failed flush is retried by the next
+        // one; remove(key, value) keeps any newer usage recorded while this flush ran
+        AfterCommit.run(() -> batch.forEach(pending::remove));
+        log.debug("Flushed last_used_at for {} API keys", batch.size());
+    }
+}
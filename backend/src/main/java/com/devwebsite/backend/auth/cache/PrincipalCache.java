@@ -0,0 +1,53 @@
+package com.devwebsite.backend.auth.cache;
+
+import com.devwebsite.backend.common.transaction.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicting cache of authenticated principals keyed by email.
+ * Lets the JWT filter skip the per-request user lookup for warm users.
+ * Hit/miss/eviction counts are published as {@code cache.*} metrics with {@code cache=principal}.
+ */
+@Component
+public class PrincipalCache {
+
+    private static final String CACHE_NAME = "principal";
+
+    private final Cache<String, UserDetails> cache;
+
+    public PrincipalCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.auth.principal-cache.ttl:5m}") Duration ttl,
+            @Value("${app.auth.principal-cache.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached principal or loads it. The load is atomic per key, so an
+     * invalidation racing with an in-flight load always wins.
+     */
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        return cache.get(email, loader);
+    }
+
+    /**
+     * Evicts the principal once the surrounding transaction commits.
+     */
+    public void invalidate(String email) {
+        AfterCommit.run(() -> cache.invalidate(email));
+    }
+}
@@ -0,0 +1,87 @@
+package com.devwebsite.backend.auth.cache;
+
+import com.devwebsite.backend.auth.jwt.JwtProperties;
+import com.devwebsite.backend.common.transaction.AfterCommit;
+import com.devwebsite.backend.user.dto.UserTokenVersion;
+import com.devwebsite.backend.user.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of recently bumped user token versions.
+ * Used by the stateless principal mode to reject revoked access tokens without a user lookup.
+ * Only users revoked within the last access token lifetime are tracked, since older tokens
+ * have expired on their own.
+ * A revocation takes effect at once on the node that served it; every node also polls for users whose
+ * rows changed since its previous poll, so other nodes reject the revoked tokens within one sync interval.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenVersionRegistry.class);
+
+    // Re-reads a window before the previous poll: updated_at is stamped before commit, on another node's clock
+    private static final Duration OVERLAP = Duration.ofSeconds(30);
+
+    private final UserRepository userRepository;
+    private final long accessExpirationMs;
+    private final Map<Long, Revocation> revocations = new ConcurrentHashMap<>();
+    // The first poll loads every revocation whose tokens may still be live
+    private volatile LocalDateTime lastPoll;
+
+    public TokenVersionRegistry(UserRepository userRepository, JwtProperties jwtProperties) {
+        this.userRepository = userRepository;
+        this.accessExpirationMs = jwtProperties.accessExpirationMs();
+        this.lastPoll = LocalDateTime.now().minus(Duration.ofMillis(accessExpirationMs)).plus(OVERLAP);
+    }
+
+    /**
+     * Merges the token versions bumped on any node since the previous poll, and drops revocations whose
+     * tokens have expired.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation-sync-interval-ms:5000}")
+    public void syncRevocations() {
+        LocalDateTime started = LocalDateTime.now();
+        List<UserTokenVersion> versions = userRepository.findTokenVersionsUpdatedSince(lastPoll.minus(OVERLAP));
+        lastPoll = started;
+
+        long now = System.currentTimeMillis();
+        versions.forEach(v -> record(v.userId(), v.tokenVersion(), now));
+        revocations.values().removeIf(r -> r.expiresAt() < now);
+        if (!versions.isEmpty()) {
+            log.debug("Merged {} token revocations, tracking {}", versions.size(), revocations.size());
+        }
+    }
+
+    /**
+     * Returns whether a token carrying the given version is still current for the user.
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        Revocation revocation = revocations.get(userId);
+        return revocation == null || tokenVersion >= revocation.minimumVersion();
+    }
+
+    /**
+     * Records that tokens below {@code minimumVersion} are revoked, once the surrounding transaction commits.
+     */
+    public void revokeBefore(Long userId, int minimumVersion) {
+        AfterCommit.run(() -> record(userId, minimumVersion, System.currentTimeMillis()));
+    }
+
+    private void record(Long userId, int minimumVersion, long now) {
+        revocations.merge(userId, new Revocation(minimumVersion, now + accessExpirationMs),
+                (current, next) -> new Revocation(
+                        Math.max(current.minimumVersion(), next.minimumVersion()), next.expiresAt()));
+    }
+
+    private record Revocation(int minimumVersion, long expiresAt) {
+    }
+}
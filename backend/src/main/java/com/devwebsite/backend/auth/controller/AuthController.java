@@ -3,7 +3,6 @@ package com.devwebsite.backend.auth.controller;
 import com.devwebsite.backend.auth.dto.*;
 import com.devwebsite.backend.auth.jwt.JwtTokenProvider;
 import com.devwebsite.backend.auth.service.AuthService;
-import com.devwebsite.backend.user.entity.User;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -49,13 +48,10 @@ public class AuthController {
     public ResponseEntity<AuthResponse> register(
             @Valid @RequestBody RegisterRequest request,
             HttpServletResponse response) {
-        AuthResponse authResponse = authService.register(request);
+        AuthResult result = authService.register(request);
+        setRefreshTokenCookie(response, result.refreshToken());
 
-        User user = authService.getUserByEmail(request.email());
-        String refreshToken = authService.createRefreshToken(user);
-        setRefreshTokenCookie(response, refreshToken);
-
-        return ResponseEntity.status(HttpStatus.CREATED).body(authResponse);
+        return ResponseEntity.status(HttpStatus.CREATED).body(result.response());
     }
 
     @PostMapping("/login")
@@ -67,13 +63,10 @@ public class AuthController {
     public ResponseEntity<AuthResponse> login(
             @Valid @RequestBody LoginRequest request,
             HttpServletResponse response) {
-        AuthResponse authResponse = authService.login(request);
-
-        User user = authService.getUserByEmail(request.email());
-        String refreshToken = authService.createRefreshToken(user);
-        setRefreshTokenCookie(response, refreshToken);
+        AuthResult result = authService.login(request);
+        setRefreshTokenCookie(response, result.refreshToken());
 
-        return ResponseEntity.ok(authResponse);
+        return ResponseEntity.ok(result.response());
     }
 
     @PostMapping("/refresh")
@@ -91,7 +84,9 @@ public class AuthController {
         }
 
         TokenPair tokenPair = authService.refreshWithRotation(refreshToken);
-        setRefreshTokenCookie(response, tokenPair.refreshToken());
+        if (tokenPair.refreshToken() != null) {
+            setRefreshTokenCookie(response, tokenPair.refreshToken());
+        }
 
         return ResponseEntity.ok(RefreshResponse.of(tokenPair.accessToken()));
     }
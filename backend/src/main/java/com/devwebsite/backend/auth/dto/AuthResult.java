@@ -0,0 +1,10 @@
+package com.devwebsite.backend.auth.dto;
+
+/**
+ * Result of a login or registration: the response body and the raw refresh token for the cookie.
+ */
+public record AuthResult(
+        AuthResponse response,
+        String refreshToken
+) {
+}
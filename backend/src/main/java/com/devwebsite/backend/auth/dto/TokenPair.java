@@ -1,5 +1,9 @@
 package com.devwebsite.backend.auth.dto;
 
+/**
+ * Result of a refresh. {@code refreshToken} is {@code null} when the request fell inside the
+ * concurrent-refresh grace window and the successor token was already issued to another request.
+ */
 public record TokenPair(
         String accessToken,
         String refreshToken
@@ -1,5 +1,6 @@
 package com.devwebsite.backend.auth.entity;
 
+import com.devwebsite.backend.common.security.TokenHasher;
 import com.devwebsite.backend.user.entity.User;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
@@ -7,7 +8,9 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity
 @Table(name = "refresh_tokens")
@@ -23,8 +26,14 @@ public class RefreshToken {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(name = "token_hash", nullable = false, length = 255)
-    private String tokenHash;
+    /**
+     * Shared by every token rotated from the same login, so a session can be revoked as a whole.
+     */
+    @Column(name = "family_id", nullable = false, updatable = false)
+    private UUID familyId;
+
+    @Column(name = "token_hash", nullable = false, length = TokenHasher.HASH_LENGTH)
+    private byte[] tokenHash;
 
     @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
@@ -32,16 +41,21 @@ public class RefreshToken {
     @Column(nullable = false)
     private boolean revoked;
 
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+
+    // No database foreign key: refresh_tokens is partitioned, so id alone is not unique there
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "replaced_by_id")
+    @JoinColumn(name = "replaced_by_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private RefreshToken replacedBy;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Builder
-    public RefreshToken(User user, String tokenHash, LocalDateTime expiresAt) {
+    public RefreshToken(User user, UUID familyId, byte[] tokenHash, LocalDateTime expiresAt) {
         this.user = user;
+        this.familyId = familyId != null ? familyId : UUID.randomUUID();
         this.tokenHash = tokenHash;
         this.expiresAt = expiresAt;
         this.revoked = false;
@@ -53,15 +67,28 @@ public class RefreshToken {
     }
 
     public void revoke(RefreshToken newToken) {
-        this.revoked = true;
+        revoke();
         this.replacedBy = newToken;
     }
 
     public void revoke() {
         this.revoked = true;
+        this.revokedAt = LocalDateTime.now();
     }
 
     public boolean isValid() {
-        return !revoked && expiresAt.isAfter(LocalDateTime.now());
+        return !revoked && !isExpired();
+    }
+
+    public boolean isExpired() {
+        return !expiresAt.isAfter(LocalDateTime.now());
+    }
+
+    /**
+     * Whether this token was rotated (not explicitly revoked) less than {@code gracePeriod} ago.
+     */
+    public boolean isRotatedWithin(Duration gracePeriod) {
+        return revoked && replacedBy != null && revokedAt != null
+                && revokedAt.isAfter(LocalDateTime.now().minus(gracePeriod));
     }
 }
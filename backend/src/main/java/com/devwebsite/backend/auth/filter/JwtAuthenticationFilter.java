@@ -1,6 +1,13 @@
 package com.devwebsite.backend.auth.filter;
 
+import com.devwebsite.backend.auth.cache.PrincipalCache;
+import com.devwebsite.backend.auth.cache.TokenVersionRegistry;
 import com.devwebsite.backend.auth.jwt.JwtTokenProvider;
+import com.devwebsite.backend.common.tracing.RequestTiming;
+import com.devwebsite.backend.user.entity.User;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -27,22 +34,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final Counter revokedCount;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(
+            JwtTokenProvider jwtTokenProvider,
+            UserDetailsService userDetailsService,
+            PrincipalCache principalCache,
+            TokenVersionRegistry tokenVersionRegistry,
+            MeterRegistry meterRegistry) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.revokedCount = Counter.builder("security.jwt.revoked")
+                .description("Validly signed access tokens rejected because the user's token version moved on")
+                .register(meterRegistry);
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        long started = System.nanoTime();
         try {
             String jwt = getJwtFromRequest(request);
+            Claims claims = StringUtils.hasText(jwt) ? jwtTokenProvider.parseClaims(jwt) : null;
+            UserDetails userDetails = claims != null ? resolvePrincipal(claims) : null;
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                String email = jwtTokenProvider.getEmailFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -52,10 +72,43 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
         }
+        RequestTiming.add(RequestTiming.Phase.AUTH, System.nanoTime() - started);
 
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Resolves the principal for verified claims, or returns {@code null} if the token has been revoked.
+     * In stateless principal mode the principal is built straight from the claims; otherwise it is
+     * loaded through the principal cache.
+     */
+    private UserDetails resolvePrincipal(Claims claims) {
+        if (!StringUtils.hasText(claims.getSubject())) {
+            return null;
+        }
+
+        if (jwtTokenProvider.isStatelessPrincipal()) {
+            User principal = jwtTokenProvider.toPrincipal(claims);
+            if (principal != null) {
+                if (!tokenVersionRegistry.isCurrent(principal.getId(), principal.getTokenVersion())) {
+                    revokedCount.increment();
+                    log.debug("Rejected revoked access token for user {}", principal.getId());
+                    return null;
+                }
+                return principal;
+            }
+        }
+
+        UserDetails userDetails = principalCache.get(claims.getSubject(), userDetailsService::loadUserByUsername);
+        Integer tokenVersion = claims.get(JwtTokenProvider.CLAIM_TOKEN_VERSION, Integer.class);
+        if (tokenVersion != null && userDetails instanceof User user && tokenVersion < user.getTokenVersion()) {
+            revokedCount.increment();
+            log.debug("Rejected revoked access token for user {}", user.getId());
+            return null;
+        }
+        return userDetails;
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader(AUTHORIZATION_HEADER);
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(BEARER_PREFIX)) {
@@ -6,6 +6,18 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public record JwtProperties(
         String secret,
         long accessExpirationMs,
-        long refreshExpirationMs
+        long refreshExpirationMs,
+        boolean statelessPrincipal,
+        ClaimsCache claimsCache
 ) {
+
+    /**
+     * Optional cache of verified access token claims, keyed by token hash.
+     * Entries live until the token's own {@code exp}.
+     */
+    public record ClaimsCache(
+            boolean enabled,
+            long maxSize
+    ) {
+    }
 }
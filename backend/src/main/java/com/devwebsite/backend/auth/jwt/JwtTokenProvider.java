@@ -1,7 +1,16 @@
 package com.devwebsite.backend.auth.jwt;
 
+import com.devwebsite.backend.common.security.TokenHasher;
+import com.devwebsite.backend.user.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
@@ -9,27 +18,79 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_NICKNAME = "nickname";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
     private static final Logger log = LoggerFactory.getLogger(JwtTokenProvider.class);
+    private static final String VALIDATION_METRIC = "security.jwt.validations";
 
     private final JwtProperties jwtProperties;
     private final SecretKey secretKey;
+    private final JwtParser jwtParser;
+    private final Cache<ByteBuffer, Claims> claimsCache;
+    private final Counter validCount;
+    private final Counter expiredCount;
+    private final Counter malformedCount;
+    private final Counter unsupportedCount;
+    private final Counter invalidSignatureCount;
+    private final Counter emptyCount;
 
-    public JwtTokenProvider(JwtProperties jwtProperties) {
+    public JwtTokenProvider(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
         this.jwtProperties = jwtProperties;
         this.secretKey = Keys.hmacShaKeyFor(jwtProperties.secret().getBytes(StandardCharsets.UTF_8));
+        // JwtParser is immutable and thread-safe, so one instance serves every request
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+        this.claimsCache = createClaimsCache(jwtProperties.claimsCache(), meterRegistry);
+        // Signature verifications by outcome; claims cache hits skip verification and show in the cache metrics
+        this.validCount = validationCounter(meterRegistry, "valid");
+        this.expiredCount = validationCounter(meterRegistry, "expired");
+        this.malformedCount = validationCounter(meterRegistry, "malformed");
+        this.unsupportedCount = validationCounter(meterRegistry, "unsupported");
+        this.invalidSignatureCount = validationCounter(meterRegistry, "invalid_signature");
+        this.emptyCount = validationCounter(meterRegistry, "empty");
     }
 
     public String generateAccessToken(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof User user) {
+            return generateAccessToken(user);
+        }
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         return generateAccessToken(userDetails.getUsername());
     }
 
+    /**
+     * Issues a self-contained access token. The id, role, nickname and token version claims
+     * let the filter build the principal without a user lookup in stateless principal mode.
+     */
+    public String generateAccessToken(User user) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + jwtProperties.accessExpirationMs());
+
+        return Jwts.builder()
+                .subject(user.getEmail())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLE, user.getRole())
+                .claim(CLAIM_NICKNAME, user.getNickname())
+                .claim(CLAIM_TOKEN_VERSION, user.getTokenVersion())
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(secretKey)
+                .compact();
+    }
+
     public String generateAccessToken(String email) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtProperties.accessExpirationMs());
@@ -46,43 +107,118 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtProperties.refreshExpirationMs());
 
+        // The random id keeps refresh tokens issued in the same second distinct
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(secretKey)
                 .compact();
     }
 
-    public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Verifies signature and expiry in a single pass and returns the token claims.
+     * Returns {@code null} if the token is not valid.
+     */
+    public Claims parseClaims(String token) {
+        if (claimsCache == null) {
+            return verify(token);
+        }
 
+        ByteBuffer key = ByteBuffer.wrap(TokenHasher.hash(token));
+        Claims claims = claimsCache.getIfPresent(key);
+        if (claims == null) {
+            claims = verify(token);
+            if (claims != null) {
+                claimsCache.put(key, claims);
+            }
+        }
+        return claims;
+    }
+
+    public String getEmailFromToken(String token) {
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
         return claims.getSubject();
     }
 
     public boolean validateToken(String token) {
+        return parseClaims(token) != null;
+    }
+
+    /**
+     * Builds a detached principal from verified claims, or returns {@code null}
+     * if the token predates the self-contained claims.
+     */
+    public User toPrincipal(Claims claims) {
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Integer tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Integer.class);
+        if (userId == null || role == null || tokenVersion == null) {
+            return null;
+        }
+        return User.reference(userId, claims.getSubject(), claims.get(CLAIM_NICKNAME, String.class), role, tokenVersion);
+    }
+
+    public boolean isStatelessPrincipal() {
+        return jwtProperties.statelessPrincipal();
+    }
+
+    public long getRefreshExpirationMs() {
+        return jwtProperties.refreshExpirationMs();
+    }
+
+    private Claims verify(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            validCount.increment();
+            return claims;
         } catch (MalformedJwtException ex) {
+            malformedCount.increment();
             log.warn("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
+            expiredCount.increment();
             log.warn("Expired JWT token");
         } catch (UnsupportedJwtException ex) {
+            unsupportedCount.increment();
             log.warn("Unsupported JWT token");
+        } catch (SecurityException ex) {
+            invalidSignatureCount.increment();
+            log.warn("Invalid JWT signature");
         } catch (IllegalArgumentException ex) {
+            emptyCount.increment();
             log.warn("JWT claims string is empty");
         }
-        return false;
+        return null;
     }
 
-    public long getRefreshExpirationMs() {
-        return jwtProperties.refreshExpirationMs();
+    private static Counter validationCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(VALIDATION_METRIC)
+                .description("Access token signature and expiry checks by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Cache<ByteBuffer, Claims> createClaimsCache(JwtProperties.ClaimsCache config,
+                                                               MeterRegistry meterRegistry) {
+        if (config == null || !config.enabled()) {
+            return null;
+        }
+
+        Cache<ByteBuffer, Claims> cache = Caffeine.newBuilder()
+                .maximumSize(config.maxSize())
+                .expireAfter(Expiry.creating((ByteBuffer key, Claims claims) -> timeUntilExpiry(claims)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwtClaims");
+        return cache;
+    }
+
+    private static Duration timeUntilExpiry(Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return Duration.ZERO;
+        }
+        long remainingMs = expiration.getTime() - System.currentTimeMillis();
+        return Duration.ofMillis(Math.max(remainingMs, 0));
     }
 }
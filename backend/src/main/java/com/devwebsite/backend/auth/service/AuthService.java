@@ -1,6 +1,9 @@
 package com.devwebsite.backend.auth.service;
 
+import com.devwebsite.backend.auth.cache.PrincipalCache;
+import com.devwebsite.backend.auth.cache.TokenVersionRegistry;
 import com.devwebsite.backend.auth.dto.AuthResponse;
+import com.devwebsite.backend.auth.dto.AuthResult;
 import com.devwebsite.backend.auth.dto.LoginRequest;
 import com.devwebsite.backend.auth.dto.RefreshResponse;
 import com.devwebsite.backend.auth.dto.RegisterRequest;
@@ -8,11 +11,17 @@ import com.devwebsite.backend.auth.dto.TokenPair;
 import com.devwebsite.backend.auth.entity.RefreshToken;
 import com.devwebsite.backend.auth.jwt.JwtTokenProvider;
 import com.devwebsite.backend.auth.repository.RefreshTokenRepository;
+import com.devwebsite.backend.billing.service.BillingService;
 import com.devwebsite.backend.common.exception.ResourceNotFoundException;
+import com.devwebsite.backend.common.security.TokenHasher;
 import com.devwebsite.backend.user.entity.User;
 import com.devwebsite.backend.user.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -20,125 +29,146 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.HexFormat;
+import java.util.UUID;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 public class AuthService {
 
     private static final Logger log = LoggerFactory.getLogger(AuthService.class);
 
+    // UNIQUE on users.email (V1), named by PostgreSQL
+    private static final String EMAIL_UNIQUE_CONSTRAINT = "users_email_key";
+
     private final UserRepository userRepository;
     private final RefreshTokenRepository refreshTokenRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final BillingService billingService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration reuseGracePeriod;
 
     public AuthService(
             UserRepository userRepository,
             RefreshTokenRepository refreshTokenRepository,
             PasswordEncoder passwordEncoder,
             JwtTokenProvider jwtTokenProvider,
-            AuthenticationManager authenticationManager) {
+            AuthenticationManager authenticationManager,
+            PrincipalCache principalCache,
+            TokenVersionRegistry tokenVersionRegistry,
+            BillingService billingService,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.refresh-token.reuse-grace-period:10s}") Duration reuseGracePeriod) {
         this.userRepository = userRepository;
         this.refreshTokenRepository = refreshTokenRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtTokenProvider = jwtTokenProvider;
         this.authenticationManager = authenticationManager;
+        this.principalCache = principalCache;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.billingService = billingService;
+        this.transactionTemplate = transactionTemplate;
+        this.reuseGracePeriod = reuseGracePeriod;
     }
 
-    @Transactional
-    public AuthResponse register(RegisterRequest request) {
-        if (userRepository.existsByEmail(request.email())) {
+    /**
+     * Creates the account, its free subscription and its first refresh token in one transaction.
+     * There is no existence pre-check: the insert is flushed and a violation of the email unique
+     * constraint is reported as a duplicate; any other integrity violation propagates as is. The password is hashed before the transaction starts, so no
+     * connection is held during bcrypt.
+     */
+    public AuthResult register(RegisterRequest request) {
+        String encodedPassword = passwordEncoder.encode(request.password());
+
+        try {
+            return transactionTemplate.execute(status -> {
+                User user = userRepository.saveAndFlush(User.builder()
+                        .email(request.email())
+                        .password(encodedPassword)
+                        .nickname(request.nickname())
+                        .role("ROLE_USER")
+                        .build());
+                billingService.provisionSubscription(user.getId());
+                return issueTokens(user, user);
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (!violates(e, EMAIL_UNIQUE_CONSTRAINT)) {
+                throw e;
+            }
             throw new IllegalArgumentException("Email already exists");
         }
-
-        User user = User.builder()
-                .email(request.email())
-                .password(passwordEncoder.encode(request.password()))
-                .nickname(request.nickname())
-                .role("ROLE_USER")
-                .build();
-
-        user = userRepository.save(user);
-
-        String accessToken = jwtTokenProvider.generateAccessToken(user.getEmail());
-
-        return AuthResponse.of(
-                accessToken,
-                toUserInfo(user)
-        );
     }
 
-    @Transactional
-    public AuthResponse login(LoginRequest request) {
+    /**
+     * Authenticates against the single user read done by the {@link AuthenticationManager}, then
+     * issues the access token and persists the refresh token in one short transaction.
+     */
+    public AuthResult login(LoginRequest request) {
+        Authentication authentication;
         try {
-            Authentication authentication = authenticationManager.authenticate(
+            authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.email(), request.password())
             );
-
-            User user = (User) authentication.getPrincipal();
-            String accessToken = jwtTokenProvider.generateAccessToken(authentication);
-
-            return AuthResponse.of(
-                    accessToken,
-                    toUserInfo(user)
-            );
         } catch (BadCredentialsException e) {
             throw new BadCredentialsException("Invalid email or password");
         }
-    }
 
-    @Transactional
-    public String createRefreshToken(User user) {
-        String rawToken = jwtTokenProvider.generateRefreshToken();
-        String tokenHash = hashToken(rawToken);
-
-        long refreshExpirationMs = jwtTokenProvider.getRefreshExpirationMs();
-        LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(refreshExpirationMs / 1000);
+        User user = (User) authentication.getPrincipal();
 
-        RefreshToken refreshToken = RefreshToken.builder()
-                .user(user)
-                .tokenHash(tokenHash)
-                .expiresAt(expiresAt)
-                .build();
-
-        refreshTokenRepository.save(refreshToken);
-
-        return rawToken;
+        // The principal is detached; a reference is enough for the foreign key and costs no SELECT
+        return transactionTemplate.execute(status ->
+                issueTokens(user, userRepository.getReferenceById(user.getId())));
     }
 
     /**
      * Refresh tokens with rotation.
      * Returns both new access token and new refresh token.
+     * <p>
+     * The token row is locked, so parallel refreshes of one token (e.g. several tabs) serialize.
+     * A token rotated less than the grace period ago gets a new access token only: the response that
+     * rotated it already delivered the successor. Any other reuse of a revoked token is treated as
+     * theft and revokes the whole family.
      */
-    @Transactional
+    @Transactional(noRollbackFor = ResourceNotFoundException.class)
     public TokenPair refreshWithRotation(String rawRefreshToken) {
-        String tokenHash = hashToken(rawRefreshToken);
+        byte[] tokenHash = TokenHasher.hash(rawRefreshToken);
 
-        RefreshToken oldToken = refreshTokenRepository.findByTokenHashWithUser(tokenHash)
+        RefreshToken oldToken = refreshTokenRepository.findByTokenHashForUpdate(tokenHash)
                 .orElseThrow(() -> new ResourceNotFoundException("Invalid or expired refresh token"));
 
-        if (!oldToken.isValid()) {
+        if (oldToken.isExpired()) {
             throw new ResourceNotFoundException("Invalid or expired refresh token");
         }
 
         User user = oldToken.getUser();
 
+        if (oldToken.isRevoked()) {
+            if (oldToken.isRotatedWithin(reuseGracePeriod) && oldToken.getReplacedBy().isValid()) {
+                return new TokenPair(jwtTokenProvider.generateAccessToken(user), null);
+            }
+            int revoked = refreshTokenRepository.revokeFamily(oldToken.getFamilyId(), LocalDateTime.now());
+            log.warn("Refresh token reuse detected for user {}; revoked {} tokens in its family", user.getId(), revoked);
+            throw new ResourceNotFoundException("Invalid or expired refresh token");
+        }
+
         // Generate new tokens
-        String accessToken = jwtTokenProvider.generateAccessToken(user.getEmail());
+        String accessToken = jwtTokenProvider.generateAccessToken(user);
         String newRawRefreshToken = jwtTokenProvider.generateRefreshToken();
-        String newTokenHash = hashToken(newRawRefreshToken);
+        byte[] newTokenHash = TokenHasher.hash(newRawRefreshToken);
 
         long refreshExpirationMs = jwtTokenProvider.getRefreshExpirationMs();
         LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(refreshExpirationMs / 1000);
 
         RefreshToken newToken = RefreshToken.builder()
                 .user(user)
+                .familyId(oldToken.getFamilyId())
                 .tokenHash(newTokenHash)
                 .expiresAt(expiresAt)
                 .build();
@@ -151,35 +181,63 @@ public class AuthService {
         return new TokenPair(accessToken, newRawRefreshToken);
     }
 
+    /**
+     * Ends the session the refresh token belongs to by revoking its whole family.
+     */
     @Transactional
     public void logout(String rawRefreshToken) {
         if (rawRefreshToken == null) {
             return;
         }
 
-        String tokenHash = hashToken(rawRefreshToken);
-        refreshTokenRepository.findByTokenHashAndRevokedFalse(tokenHash)
-                .ifPresent(RefreshToken::revoke);
+        byte[] tokenHash = TokenHasher.hash(rawRefreshToken);
+        refreshTokenRepository.findByTokenHash(tokenHash)
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
     }
 
+    /**
+     * Revokes every refresh token and, through the token version, every outstanding access token.
+     */
     @Transactional
     public void logoutAll(User user) {
-        refreshTokenRepository.revokeAllByUser(user);
-    }
+        refreshTokenRepository.revokeAllByUser(user, LocalDateTime.now());
 
-    public User getUserByEmail(String email) {
-        return userRepository.findByEmail(email)
+        User managedUser = userRepository.findById(user.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        managedUser.incrementTokenVersion();
+
+        principalCache.invalidate(managedUser.getEmail());
+        tokenVersionRegistry.revokeBefore(managedUser.getId(), managedUser.getTokenVersion());
     }
 
-    private String hashToken(String token) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256 algorithm not available", e);
+    /**
+     * Issues an access token for {@code user} and the first refresh token of a new family (one per login).
+     * {@code owner} is the managed user the refresh token row references.
+     */
+    private AuthResult issueTokens(User user, User owner) {
+        String rawToken = jwtTokenProvider.generateRefreshToken();
+
+        long refreshExpirationMs = jwtTokenProvider.getRefreshExpirationMs();
+        LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(refreshExpirationMs / 1000);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .user(owner)
+                .familyId(UUID.randomUUID())
+                .tokenHash(TokenHasher.hash(rawToken))
+                .expiresAt(expiresAt)
+                .build());
+
+        AuthResponse response = AuthResponse.of(jwtTokenProvider.generateAccessToken(user), toUserInfo(user));
+        return new AuthResult(response, rawToken);
+    }
+
+    private static boolean violates(DataIntegrityViolationException e, String constraint) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return constraint.equalsIgnoreCase(violation.getConstraintName());
+            }
         }
+        return false;
     }
 
     private AuthResponse.UserInfo toUserInfo(User user) {
@@ -0,0 +1,244 @@
+package com.devwebsite.backend.auth.service;
+
+import com.devwebsite.backend.auth.jwt.JwtProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retention for the weekly {@code expires_at} partitions of {@code refresh_tokens} (see V9).
+ * Creates partitions far enough ahead to cover every token that can be issued before the next run,
+ * and drops partitions whose range has fully expired instead of deleting rows.
+ * Tokens that landed in the default partition (V14) because no weekly partition existed yet are moved
+ * into the weekly partition when it is created.
+ * Estimated live (usable) and dead (revoked or expired, not yet dropped) token counts are published as
+ * {@code auth.refresh.tokens{state=live|dead}}.
+ */
+@Component
+public class RefreshTokenPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenPartitionManager.class);
+
+    private static final String PARTITION_PREFIX = "refresh_tokens_p";
+    private static final String DEFAULT_PARTITION = "refresh_tokens_default";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final JdbcClient jdbcClient;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration refreshWindow;
+    private final Duration gracePeriod;
+    private final int weeksAhead;
+    private final AtomicLong liveTokens = new AtomicLong();
+    private final AtomicLong deadTokens = new AtomicLong();
+
+    public RefreshTokenPartitionManager(
+            JdbcClient jdbcClient,
+            PlatformTransactionManager transactionManager,
+            JwtProperties jwtProperties,
+            MeterRegistry meterRegistry,
+            @Value("${app.refresh-token.partitions.grace-period:1d}") Duration gracePeriod,
+            @Value("${app.refresh-token.partitions.weeks-ahead:2}") int weeksAhead) {
+        this.jdbcClient = jdbcClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.refreshWindow = Duration.ofMillis(jwtProperties.refreshExpirationMs());
+        this.gracePeriod = gracePeriod;
+        this.weeksAhead = weeksAhead;
+
+        Gauge.builder("auth.refresh.tokens", liveTokens, AtomicLong::get)
+                .tag("state", "live")
+                .description("Refresh tokens that are neither revoked nor expired")
+                .register(meterRegistry);
+        Gauge.builder("auth.refresh.tokens", deadTokens, AtomicLong::get)
+                .tag("state", "dead")
+                .description("Revoked or expired refresh tokens still stored")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs maintenance once at startup so a fresh database gets its partitions. A failure (typically the lock
+     * timeout while traffic holds the table) is logged rather than failing startup; the scheduled run retries.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainPartitionsAtStartup() {
+        try {
+            maintainPartitions();
+        } catch (DataAccessException e) {
+            log.warn("Refresh token partition maintenance failed at startup, retrying at the next scheduled run", e);
+        }
+    }
+
+    @Scheduled(cron = "${app.refresh-token.partitions.cron:0 15 3 * * *}")
+    public void maintainPartitions() {
+        Maintenance maintenance = transactionTemplate.execute(status -> {
+            // Partition DDL locks the parent table; never queue logins behind it for long
+            jdbcClient.sql("SET LOCAL lock_timeout = '5s'").update();
+
+            // Every node runs the schedule; one maintains, the others skip until the next run
+            boolean locked = jdbcClient.sql("SELECT pg_try_advisory_xact_lock(hashtext('refresh_tokens_partitions'))")
+                    .query(Boolean.class)
+                    .single();
+            if (!locked) {
+                return null;
+            }
+
+            LocalDate today = LocalDate.now();
+            List<String> partitions = jdbcClient.sql("""
+                            SELECT c.relname
+                            FROM pg_inherits i
+                            JOIN pg_class c ON c.oid = i.inhrelid
+                            WHERE i.inhparent = 'refresh_tokens'::regclass
+                            """)
+                    .query(String.class)
+                    .list();
+
+            return new Maintenance(createPartitions(today, partitions), dropExpiredPartitions(today, partitions));
+        });
+        if (maintenance == null) {
+            log.debug("Refresh token partitions are being maintained by another node");
+            return;
+        }
+        refreshCounts();
+
+        log.info("Refresh token partitions: {} created, {} dropped, ~{} live / ~{} dead tokens",
+                maintenance.created(), maintenance.dropped(), liveTokens.get(), deadTokens.get());
+    }
+
+    /**
+     * Estimates live and dead tokens for the gauges from each partition's statistics instead of reading the
+     * table: the row count from {@code pg_stat_user_tables} ({@code pg_class.reltuples} until it has one),
+     * the revoked share from the null fraction of {@code revoked_at} in {@code pg_stats}. A token counts as
+     * expired once its whole weekly partition has. Runs more often than partition maintenance.
+     */
+    @Scheduled(fixedDelayString = "${app.refresh-token.partitions.count-interval-ms:300000}")
+    public void refreshCounts() {
+        List<PartitionStatistics> partitions = jdbcClient.sql("""
+                        SELECT c.relname,
+                               coalesce(s.n_live_tup, greatest(c.reltuples, 0)::bigint) AS row_estimate,
+                               coalesce(st.null_frac, 1) AS unrevoked_fraction
+                        FROM pg_inherits i
+                        JOIN pg_class c ON c.oid = i.inhrelid
+                        LEFT JOIN pg_stat_user_tables s ON s.relid = c.oid
+                        LEFT JOIN pg_stats st ON st.schemaname = s.schemaname
+                                             AND st.tablename = c.relname
+                                             AND st.attname = 'revoked_at'
+                        WHERE i.inhparent = 'refresh_tokens'::regclass
+                        """)
+                .query((rs, rowNum) -> new PartitionStatistics(
+                        rs.getString("relname"), rs.getLong("row_estimate"), rs.getDouble("unrevoked_fraction")))
+                .list();
+
+        LocalDate today = LocalDate.now();
+        long live = 0;
+        long dead = 0;
+        for (PartitionStatistics partition : partitions) {
+            if (isExpired(partition.name(), today)) {
+                dead += partition.rows();
+            } else {
+                long unrevoked = Math.round(partition.rows() * partition.unrevokedFraction());
+                live += unrevoked;
+                dead += partition.rows() - unrevoked;
+            }
+        }
+        liveTokens.set(live);
+        deadTokens.set(dead);
+    }
+
+    private int createPartitions(LocalDate today, List<String> existing) {
+        LocalDate horizon = today.plusDays(refreshWindow.toDays() + 1).plusWeeks(weeksAhead);
+        int created = 0;
+        for (LocalDate weekStart = weekStart(today); weekStart.isBefore(horizon); weekStart = weekStart.plusWeeks(1)) {
+            String name = PARTITION_PREFIX + PARTITION_SUFFIX.format(weekStart);
+            if (existing.contains(name)) {
+                continue;
+            }
+            // Identifiers and bounds are derived from dates only, never from input
+            String bounds = "FOR VALUES FROM ('" + weekStart + "') TO ('" + weekStart.plusWeeks(1) + "')";
+            if (existing.contains(DEFAULT_PARTITION) && defaultPartitionHolds(weekStart)) {
+                // A new partition may not overlap rows of the default one: move them in before attaching
+                jdbcClient.sql("CREATE TABLE " + name + " (LIKE refresh_tokens INCLUDING DEFAULTS INCLUDING CONSTRAINTS)")
+                        .update();
+                int moved = jdbcClient.sql("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION +
+                                " WHERE expires_at >= :from AND expires_at < :to RETURNING *) " +
+                                "INSERT INTO " + name + " SELECT * FROM moved")
+                        .param("from", weekStart.atStartOfDay())
+                        .param("to", weekStart.plusWeeks(1).atStartOfDay())
+                        .update();
+                jdbcClient.sql("ALTER TABLE refresh_tokens ATTACH PARTITION " + name + " " + bounds).update();
+                log.warn("Moved {} refresh tokens from {} into {}; partition maintenance fell behind",
+                        moved, DEFAULT_PARTITION, name);
+            } else {
+                jdbcClient.sql("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF refresh_tokens " + bounds).update();
+            }
+            created++;
+        }
+        return created;
+    }
+
+    private boolean defaultPartitionHolds(LocalDate weekStart) {
+        return jdbcClient.sql("SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION +
+                        " WHERE expires_at >= :from AND expires_at < :to)")
+                .param("from", weekStart.atStartOfDay())
+                .param("to", weekStart.plusWeeks(1).atStartOfDay())
+                .query(Boolean.class)
+                .single();
+    }
+
+    private int dropExpiredPartitions(LocalDate today, List<String> partitions) {
+        LocalDate cutoff = today.minusDays(gracePeriod.toDays());
+        int dropped = 0;
+        for (String name : partitions) {
+            if (!name.startsWith(PARTITION_PREFIX)) {
+                continue;
+            }
+            LocalDate weekStart = LocalDate.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+            // Every token in the partition expired before its upper bound
+            if (!weekStart.plusWeeks(1).isAfter(cutoff)) {
+                jdbcClient.sql("ALTER TABLE refresh_tokens DETACH PARTITION " + name).update();
+                jdbcClient.sql("DROP TABLE IF EXISTS " + name).update();
+                dropped++;
+            }
+        }
+        if (partitions.contains(DEFAULT_PARTITION)) {
+            jdbcClient.sql("DELETE FROM " + DEFAULT_PARTITION + " WHERE expires_at < :cutoff")
+                    .param("cutoff", cutoff.atStartOfDay())
+                    .update();
+        }
+        return dropped;
+    }
+
+    private static boolean isExpired(String partition, LocalDate today) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return false;
+        }
+        LocalDate weekStart = LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        return !weekStart.plusWeeks(1).isAfter(today);
+    }
+
+    private static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private record Maintenance(int created, int dropped) {
+    }
+
+    private record PartitionStatistics(String name, long rows, double unrevokedFraction) {
+    }
+}
@@ -2,17 +2,22 @@ package com.devwebsite.backend.billing.controller;
 
 import com.devwebsite.backend.billing.dto.PlanResponse;
 import com.devwebsite.backend.billing.service.BillingService;
+import com.devwebsite.backend.common.web.ContentVersion;
+import com.devwebsite.backend.common.web.RenderedJson;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/plans")
@@ -28,21 +33,39 @@ public class PlanController {
     @GetMapping
     @Operation(summary = "Get all available plans")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Plans retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Plans retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = PlanResponse.class)))),
+            @ApiResponse(responseCode = "304", description = "Plans not modified")
     })
-    public ResponseEntity<List<PlanResponse>> getPlans() {
-        List<PlanResponse> plans = billingService.getAllPlans();
-        return ResponseEntity.ok(plans);
+    public ResponseEntity<byte[]> getPlans(WebRequest webRequest) {
+        return render(billingService.getAllPlansJson(), webRequest);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get a plan by ID")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Plan retrieved successfully"),
+            @ApiResponse(responseCode = "200", description = "Plan retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PlanResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Plan not modified"),
             @ApiResponse(responseCode = "404", description = "Plan not found")
     })
-    public ResponseEntity<PlanResponse> getPlan(@PathVariable Long id) {
-        PlanResponse plan = billingService.getPlan(id);
-        return ResponseEntity.ok(plan);
+    public ResponseEntity<byte[]> getPlan(@PathVariable Long id, WebRequest webRequest) {
+        return render(billingService.getPlanJson(id), webRequest);
+    }
+
+    /**
+     * Writes the pre-serialized body as-is, or nothing when the client's copy is current.
+     */
+    private ResponseEntity<byte[]> render(RenderedJson rendered, WebRequest webRequest) {
+        ContentVersion version = rendered.version();
+        if (webRequest.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(rendered.body());
     }
 }
@@ -28,9 +28,10 @@ public class SubscriptionController {
 
     @GetMapping
     @Operation(summary = "Get current user's subscription",
-            description = "Returns the current subscription. If no subscription exists, creates a free subscription.")
+            description = "Returns the current subscription. Every account starts on the free plan.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Subscription retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Subscription not found"),
             @ApiResponse(responseCode = "401", description = "Not authenticated")
     })
     public ResponseEntity<SubscriptionResponse> getSubscription(@AuthenticationPrincipal User user) {
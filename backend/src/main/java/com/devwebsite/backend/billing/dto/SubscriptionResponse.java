@@ -13,10 +13,17 @@ public record SubscriptionResponse(
         LocalDateTime createdAt,
         LocalDateTime updatedAt
 ) {
+    /**
+     * Loads the lazy plan, so call it inside a transaction; {@link #of} with a catalog plan does not.
+     */
     public static SubscriptionResponse from(Subscription subscription) {
+        return of(subscription, PlanResponse.from(subscription.getPlan()));
+    }
+
+    public static SubscriptionResponse of(Subscription subscription, PlanResponse plan) {
         return new SubscriptionResponse(
                 subscription.getId(),
-                PlanResponse.from(subscription.getPlan()),
+                plan,
                 subscription.getStatus().name(),
                 subscription.getStartedAt(),
                 subscription.getExpiresAt(),
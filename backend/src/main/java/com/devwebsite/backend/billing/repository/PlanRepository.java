@@ -1,16 +1,18 @@
 package com.devwebsite.backend.billing.repository;
 
 import com.devwebsite.backend.billing.entity.Plan;
+import com.devwebsite.backend.common.web.ContentVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface PlanRepository extends JpaRepository<Plan, Long> {
 
-    Optional<Plan> findByName(String name);
-
     List<Plan> findAllByOrderByPriceMonthlyAsc();
+
+    @Query("SELECT new com.devwebsite.backend.common.web.ContentVersion(MAX(p.updatedAt), COUNT(p)) FROM Plan p")
+    ContentVersion findVersion();
 }
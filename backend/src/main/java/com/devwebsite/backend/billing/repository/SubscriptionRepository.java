@@ -3,10 +3,13 @@ package com.devwebsite.backend.billing.repository;
 import com.devwebsite.backend.billing.entity.Subscription;
 import com.devwebsite.backend.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,8 +17,19 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
 
     Optional<Subscription> findByUser(User user);
 
-    @Query("SELECT s FROM Subscription s JOIN FETCH s.plan WHERE s.user = :user")
-    Optional<Subscription> findByUserWithPlan(@Param("user") User user);
+    @Query("SELECT s.plan.id FROM Subscription s WHERE s.user.id = :userId")
+    Optional<Long> findPlanIdByUserId(@Param("userId") Long userId);
 
-    boolean existsByUser(User user);
+    @Query("SELECT s.user.id FROM Subscription s WHERE s.updatedAt > :since")
+    List<Long> findUserIdsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Creates the user's subscription unless one exists. Safe to call concurrently: the
+     * {@code user_id} unique constraint turns a lost race into a no-op instead of an error.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO subscriptions (user_id, plan_id, status, started_at, created_at, updated_at) " +
+            "VALUES (:userId, :planId, 'ACTIVE', now(), now(), now()) " +
+            "ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("planId") Long planId);
 }
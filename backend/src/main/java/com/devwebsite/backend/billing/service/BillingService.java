@@ -3,86 +3,104 @@ package com.devwebsite.backend.billing.service;
 import com.devwebsite.backend.billing.dto.ChangePlanRequest;
 import com.devwebsite.backend.billing.dto.PlanResponse;
 import com.devwebsite.backend.billing.dto.SubscriptionResponse;
-import com.devwebsite.backend.billing.entity.Plan;
 import com.devwebsite.backend.billing.entity.Subscription;
 import com.devwebsite.backend.billing.repository.PlanRepository;
 import com.devwebsite.backend.billing.repository.SubscriptionRepository;
 import com.devwebsite.backend.common.exception.ResourceNotFoundException;
+import com.devwebsite.backend.common.web.RenderedJson;
+import com.devwebsite.backend.ratelimit.service.PlanRateLimitResolver;
 import com.devwebsite.backend.user.entity.User;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
-
-import java.util.List;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 public class BillingService {
 
     private static final String DEFAULT_PLAN_NAME = "free";
 
     private final PlanRepository planRepository;
     private final SubscriptionRepository subscriptionRepository;
-
-    public BillingService(PlanRepository planRepository, SubscriptionRepository subscriptionRepository) {
+    private final PlanCatalog planCatalog;
+    private final SubscriptionCache subscriptionCache;
+    private final PlanRateLimitResolver planRateLimitResolver;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public BillingService(
+            PlanRepository planRepository,
+            SubscriptionRepository subscriptionRepository,
+            PlanCatalog planCatalog,
+            SubscriptionCache subscriptionCache,
+            PlanRateLimitResolver planRateLimitResolver,
+            PlatformTransactionManager transactionManager) {
         this.planRepository = planRepository;
         this.subscriptionRepository = subscriptionRepository;
+        this.planCatalog = planCatalog;
+        this.subscriptionCache = subscriptionCache;
+        this.planRateLimitResolver = planRateLimitResolver;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
-    @Transactional(readOnly = true)
-    public List<PlanResponse> getAllPlans() {
-        return planRepository.findAllByOrderByPriceMonthlyAsc()
-                .stream()
-                .map(PlanResponse::from)
-                .toList();
+    public RenderedJson getAllPlansJson() {
+        return planCatalog.getPlansJson();
     }
 
-    @Transactional(readOnly = true)
     public PlanResponse getPlan(Long id) {
-        Plan plan = planRepository.findById(id)
+        return planCatalog.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Plan not found"));
-        return PlanResponse.from(plan);
     }
 
-    @Transactional
-    public SubscriptionResponse getSubscription(User user) {
-        Subscription subscription = subscriptionRepository.findByUserWithPlan(user)
-                .orElse(null);
-
-        if (subscription == null) {
-            // Auto-create free subscription for user
-            Plan freePlan = planRepository.findByName(DEFAULT_PLAN_NAME)
-                    .orElseThrow(() -> new ResourceNotFoundException("Default plan not found"));
-
-            subscription = Subscription.builder()
-                    .user(user)
-                    .plan(freePlan)
-                    .build();
+    public RenderedJson getPlanJson(Long id) {
+        return planCatalog.findJsonById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Plan not found"));
+    }
 
-            subscription = subscriptionRepository.save(subscription);
-        }
+    /**
+     * Returns the user's subscription from the cache, loading and mapping it on a miss in one short
+     * read-only transaction; hits take no connection at all.
+     * Every account gets a subscription at registration, so this never writes.
+     */
+    public SubscriptionResponse getSubscription(User user) {
+        return subscriptionCache.get(user.getId(), userId -> readOnlyTransaction.execute(status ->
+                subscriptionRepository.findByUser(user)
+                        .map(this::toResponse)
+                        .orElseThrow(() -> new ResourceNotFoundException("Subscription not found"))));
+    }
 
-        return SubscriptionResponse.from(subscription);
+    /**
+     * Gives a new account the default plan. Joins the caller's transaction, so the account and its
+     * subscription are committed together.
+     */
+    @Transactional
+    public void provisionSubscription(Long userId) {
+        PlanResponse freePlan = planCatalog.findByName(DEFAULT_PLAN_NAME)
+                .orElseThrow(() -> new ResourceNotFoundException("Default plan not found"));
+        subscriptionRepository.insertIfAbsent(userId, freePlan.id());
     }
 
     @Transactional
     public SubscriptionResponse changePlan(User user, ChangePlanRequest request) {
-        Plan newPlan = planRepository.findById(request.planId())
-                .orElseThrow(() -> new ResourceNotFoundException("Plan not found"));
+        PlanResponse plan = getPlan(request.planId());
+
+        Subscription subscription = subscriptionRepository.findByUser(user)
+                .orElseThrow(() -> new ResourceNotFoundException("Subscription not found"));
+        subscription.changePlan(planRepository.getReferenceById(plan.id()));
 
-        Subscription subscription = subscriptionRepository.findByUserWithPlan(user)
-                .orElse(null);
+        planRateLimitResolver.invalidate(user.getId());
+        subscriptionCache.invalidate(user.getId());
 
-        if (subscription == null) {
-            // Create new subscription with the requested plan
-            subscription = Subscription.builder()
-                    .user(user)
-                    .plan(newPlan)
-                    .build();
-            subscription = subscriptionRepository.save(subscription);
-        } else {
-            // Change existing subscription's plan
-            subscription.changePlan(newPlan);
-        }
+        return toResponse(subscription);
+    }
 
-        return SubscriptionResponse.from(subscription);
+    /**
+     * Takes the plan from the catalog; reading the id of a lazy plan reference does not load it.
+     */
+    private SubscriptionResponse toResponse(Subscription subscription) {
+        PlanResponse plan = getPlan(subscription.getPlan().getId());
+        return SubscriptionResponse.of(subscription, plan);
     }
 }
@@ -0,0 +1,130 @@
+package com.devwebsite.backend.billing.service;
+
+import com.devwebsite.backend.billing.dto.PlanResponse;
+import com.devwebsite.backend.billing.entity.Plan;
+import com.devwebsite.backend.billing.repository.PlanRepository;
+import com.devwebsite.backend.common.web.ContentVersion;
+import com.devwebsite.backend.common.web.RenderedJson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable in-memory snapshot of the plan catalog.
+ * Plans change rarely, so lookups by id and name, and the list and detail response bodies
+ * (pre-serialized with their {@link ContentVersion}), are served without touching the database.
+ * The snapshot is replaced whole when the catalog version in the database changes.
+ */
+@Component
+public class PlanCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(PlanCatalog.class);
+
+    private final PlanRepository planRepository;
+    private final JsonMapper jsonMapper;
+    private volatile Snapshot snapshot;
+
+    public PlanCatalog(PlanRepository planRepository, JsonMapper jsonMapper) {
+        this.planRepository = planRepository;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    /**
+     * Reloads the snapshot if plans were added, changed or removed since it was taken.
+     */
+    @Scheduled(fixedDelayString = "${app.plan-catalog.refresh-interval-ms:60000}",
+            initialDelayString = "${app.plan-catalog.refresh-interval-ms:60000}")
+    public void refreshIfChanged() {
+        Snapshot current = snapshot;
+        if (current == null || !planRepository.findVersion().equals(current.plans().version())) {
+            reload();
+        }
+    }
+
+    public synchronized void reload() {
+        List<Plan> plans = planRepository.findAllByOrderByPriceMonthlyAsc();
+
+        List<PlanResponse> responses = plans.stream().map(PlanCatalog::toResponse).toList();
+        Map<Long, Entry> byId = new LinkedHashMap<>();
+        Map<String, Entry> byName = new LinkedHashMap<>();
+        LocalDateTime lastModified = null;
+        for (int i = 0; i < plans.size(); i++) {
+            LocalDateTime updatedAt = plans.get(i).getUpdatedAt();
+            PlanResponse plan = responses.get(i);
+            Entry entry = new Entry(plan, new RenderedJson(jsonMapper.writeValueAsBytes(plan), ContentVersion.of(updatedAt)));
+            byId.put(plan.id(), entry);
+            byName.put(plan.name(), entry);
+            if (lastModified == null || updatedAt.isAfter(lastModified)) {
+                lastModified = updatedAt;
+            }
+        }
+
+        RenderedJson list = new RenderedJson(jsonMapper.writeValueAsBytes(responses),
+                new ContentVersion(lastModified, plans.size()));
+        snapshot = new Snapshot(list, Map.copyOf(byId), Map.copyOf(byName));
+        log.info("Loaded plan catalog: {} plans, version {}", plans.size(), list.version().eTag());
+    }
+
+    /**
+     * All plans ordered by monthly price, as the list response body.
+     */
+    public RenderedJson getPlansJson() {
+        return current().plans();
+    }
+
+    public Optional<PlanResponse> findById(Long id) {
+        return Optional.ofNullable(current().byId().get(id)).map(Entry::plan);
+    }
+
+    public Optional<PlanResponse> findByName(String name) {
+        return Optional.ofNullable(current().byName().get(name)).map(Entry::plan);
+    }
+
+    public Optional<RenderedJson> findJsonById(Long id) {
+        return Optional.ofNullable(current().byId().get(id)).map(Entry::json);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // A request can arrive before ApplicationReadyEvent
+            synchronized (this) {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private static PlanResponse toResponse(Plan plan) {
+        Map<String, Object> features = plan.getFeatures() != null
+                ? Collections.unmodifiableMap(new LinkedHashMap<>(plan.getFeatures()))
+                : null;
+        return new PlanResponse(plan.getId(), plan.getName(), plan.getDisplayName(),
+                plan.getDescription(), plan.getPriceMonthly(), features);
+    }
+
+    private record Entry(PlanResponse plan, RenderedJson json) {
+    }
+
+    private record Snapshot(RenderedJson plans, Map<Long, Entry> byId, Map<String, Entry> byName) {
+    }
+}
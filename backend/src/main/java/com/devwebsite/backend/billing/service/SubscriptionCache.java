@@ -0,0 +1,47 @@
+package com.devwebsite.backend.billing.service;
+
+import com.devwebsite.backend.billing.dto.SubscriptionResponse;
+import com.devwebsite.backend.common.transaction.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Per-user cache of {@link SubscriptionResponse}, so reading the current subscription does not touch the database.
+ * Plan changes invalidate the user's entry once they commit; other nodes drop it within a sync interval
+ * ({@link SubscriptionCacheSync}).
+ */
+@Component
+public class SubscriptionCache {
+
+    private final Cache<Long, SubscriptionResponse> subscriptions;
+
+    public SubscriptionCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.subscription.cache.ttl:10m}") Duration ttl,
+            @Value("${app.subscription.cache.max-size:100000}") long maxSize) {
+        this.subscriptions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, subscriptions, "subscriptions");
+    }
+
+    public SubscriptionResponse get(Long userId, Function<Long, SubscriptionResponse> loader) {
+        return subscriptions.get(userId, loader);
+    }
+
+    /**
+     * Drops the user's entry once the surrounding transaction commits.
+     */
+    public void invalidate(Long userId) {
+        AfterCommit.run(() -> subscriptions.invalidate(userId));
+    }
+}
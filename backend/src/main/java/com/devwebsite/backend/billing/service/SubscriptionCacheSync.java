@@ -0,0 +1,56 @@
+package com.devwebsite.backend.billing.service;
+
+import com.devwebsite.backend.billing.repository.SubscriptionRepository;
+import com.devwebsite.backend.ratelimit.service.PlanRateLimitResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps the per-node subscription caches ({@link SubscriptionCache}, {@link PlanRateLimitResolver}) in step
+ * across nodes. A plan change invalidates the entries of the node that served it; every node also polls for
+ * subscriptions updated since its previous poll and drops those users' entries. Another node therefore serves
+ * the old plan and rate limit for at most about one sync interval. The cache TTLs stay as a backstop.
+ */
+@Component
+public class SubscriptionCacheSync {
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionCacheSync.class);
+
+    // Re-reads a window before the previous poll: updated_at is stamped before commit, on another node's clock
+    private static final Duration OVERLAP = Duration.ofSeconds(30);
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final SubscriptionCache subscriptionCache;
+    private final PlanRateLimitResolver planRateLimitResolver;
+    private volatile LocalDateTime lastPoll = LocalDateTime.now();
+
+    public SubscriptionCacheSync(
+            SubscriptionRepository subscriptionRepository,
+            SubscriptionCache subscriptionCache,
+            PlanRateLimitResolver planRateLimitResolver) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.subscriptionCache = subscriptionCache;
+        this.planRateLimitResolver = planRateLimitResolver;
+    }
+
+    @Scheduled(fixedDelayString = "${app.subscription.cache.sync-interval-ms:5000}")
+    public void invalidateChangedSubscriptions() {
+        LocalDateTime started = LocalDateTime.now();
+        List<Long> userIds = subscriptionRepository.findUserIdsUpdatedSince(lastPoll.minus(OVERLAP));
+        lastPoll = started;
+
+        for (Long userId : userIds) {
+            subscriptionCache.invalidate(userId);
+            planRateLimitResolver.invalidate(userId);
+        }
+        if (!userIds.isEmpty()) {
+            log.debug("Invalidated cached subscriptions of {} users", userIds.size());
+        }
+    }
+}
@@ -32,6 +32,12 @@ public class OpenApiConfig {
                                         .type(SecurityScheme.Type.HTTP)
                                         .scheme("bearer")
                                         .bearerFormat("JWT")
-                                        .description("JWT Access Token")));
+                                        .description("JWT Access Token"))
+                        .addSecuritySchemes("apiKeyAuth",
+                                new SecurityScheme()
+                                        .name("X-API-Key")
+                                        .type(SecurityScheme.Type.APIKEY)
+                                        .in(SecurityScheme.In.HEADER)
+                                        .description("API Key")));
     }
 }
@@ -1,8 +1,13 @@
 package com.devwebsite.backend.common.config;
 
+import com.devwebsite.backend.apikey.filter.ApiKeyAuthenticationFilter;
 import com.devwebsite.backend.auth.filter.CsrfProtectionFilter;
 import com.devwebsite.backend.auth.filter.JwtAuthenticationFilter;
 import com.devwebsite.backend.auth.jwt.JwtProperties;
+import com.devwebsite.backend.common.filter.TraceIdFilter;
+import com.devwebsite.backend.common.metrics.RequestStatisticsFilter;
+import com.devwebsite.backend.common.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -14,7 +19,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -22,6 +26,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
@@ -31,21 +36,43 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final ApiKeyAuthenticationFilter apiKeyAuthenticationFilter;
     private final CsrfProtectionFilter csrfProtectionFilter;
     private final List<String> allowedOrigins;
 
     public SecurityConfig(
             JwtAuthenticationFilter jwtAuthenticationFilter,
+            ApiKeyAuthenticationFilter apiKeyAuthenticationFilter,
             CsrfProtectionFilter csrfProtectionFilter,
             @Value("${app.cors.allowed-origins}") String allowedOriginsStr) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.apiKeyAuthenticationFilter = apiKeyAuthenticationFilter;
         this.csrfProtectionFilter = csrfProtectionFilter;
         this.allowedOrigins = List.of(allowedOriginsStr.split(","));
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    /**
+     * BCrypt on a bounded executor, at the cost pinned in configuration so every node hashes alike.
+     * With {@code calibrate} on, startup also logs the cost that fits the target latency on this machine.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${app.password-hashing.strength:12}") int strength,
+            @Value("${app.password-hashing.calibrate:false}") boolean calibrate,
+            @Value("${app.password-hashing.target-latency:250ms}") Duration targetLatency,
+            @Value("${app.password-hashing.threads:0}") int threads,
+            @Value("${app.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${app.password-hashing.retry-after-seconds:2}") long retryAfterSeconds) {
+        if (calibrate) {
+            BoundedPasswordEncoder.calibrate(targetLatency, strength);
+        }
+        return new BoundedPasswordEncoder(
+                strength,
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                queueCapacity,
+                retryAfterSeconds,
+                meterRegistry);
     }
 
     @Bean
@@ -59,6 +86,9 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(allowedOrigins.stream().map(String::trim).toList());
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        configuration.setExposedHeaders(List.of(
+                TraceIdFilter.TRACE_ID_HEADER, TraceIdFilter.TRACEPARENT_HEADER, TraceIdFilter.SERVER_TIMING_HEADER,
+                RequestStatisticsFilter.SQL_COUNT_HEADER, RequestStatisticsFilter.SQL_TIME_HEADER));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -75,24 +105,29 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        // Public endpoints
+                        // Public endpoints. Actuator is only served on the internal management port
+                        // (management.server.port), so health and prometheus are reachable by probes and
+                        // scrapers there and not at all on the public port.
                         .requestMatchers(
                                 "/actuator/health",
+                                "/actuator/prometheus",
                                 "/v3/api-docs/**",
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
                                 "/api/v1/auth/**",
                                 "/api/v1/announcements/**",
                                 "/api/v1/releases/**",
-                                "/api/v1/plans/**"
+                                "/api/v1/plans/**",
+                                "/api/v1/search/**"
                         ).permitAll()
                         // Admin endpoints
-                        .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/api/v1/admin/**", "/actuator/**").hasRole("ADMIN")
                         // All other endpoints require authentication
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(csrfProtectionFilter, UsernamePasswordAuthenticationFilter.class)
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(apiKeyAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
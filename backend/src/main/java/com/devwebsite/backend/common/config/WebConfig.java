@@ -0,0 +1,37 @@
+package com.devwebsite.backend.common.config;
+
+import com.devwebsite.backend.common.metrics.SqlStatsProperties;
+import com.devwebsite.backend.common.tracing.ServerTimingInterceptor;
+import com.devwebsite.backend.ratelimit.interceptor.RateLimitInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties(SqlStatsProperties.class)
+public class WebConfig implements WebMvcConfigurer {
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+    private final ServerTimingInterceptor serverTimingInterceptor;
+    private final boolean rateLimitEnabled;
+
+    public WebConfig(
+            RateLimitInterceptor rateLimitInterceptor,
+            ServerTimingInterceptor serverTimingInterceptor,
+            @Value("${app.rate-limit.enabled:true}") boolean rateLimitEnabled) {
+        this.rateLimitInterceptor = rateLimitInterceptor;
+        this.serverTimingInterceptor = serverTimingInterceptor;
+        this.rateLimitEnabled = rateLimitEnabled;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // First, so the handler phase includes the other interceptors
+        registry.addInterceptor(serverTimingInterceptor);
+        if (rateLimitEnabled) {
+            registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/**");
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.devwebsite.backend.common.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams JFR {@code jdk.VirtualThreadPinned} events in-process.
+ * A pinned virtual thread blocks its carrier, so pinning on a hot path caps concurrency at the carrier count.
+ * Since JDK 24 {@code synchronized} no longer pins; remaining causes are native frames and class initialization.
+ * Events are counted in the {@code jvm.threads.virtual.pinned} timer and the most recent ones are kept for the
+ * {@code virtualthreads} actuator endpoint.
+ * Runs only when requests run on virtual threads, since nothing else can pin; without virtual threads the
+ * in-process JFR stream would be pure overhead.
+ */
+@Component
+@ConditionalOnProperty(name = "app.diagnostics.virtual-threads.enabled", havingValue = "true")
+public class PinnedThreadMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int RECENT_EVENTS = 20;
+    private static final int STACK_DEPTH = 8;
+
+    private final Duration threshold;
+    private final Timer pinnedTimer;
+    private final Deque<PinnedEvent> recent = new ArrayDeque<>(RECENT_EVENTS);
+    private RecordingStream stream;
+
+    public PinnedThreadMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${app.diagnostics.virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+        this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads pinned to their carrier while blocking")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+        log.info("Monitoring virtual thread pinning above {}", threshold);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public long getPinnedCount() {
+        return pinnedTimer.count();
+    }
+
+    public Duration getPinnedTotalTime() {
+        return Duration.ofNanos((long) pinnedTimer.totalTime(TimeUnit.NANOSECONDS));
+    }
+
+    public synchronized List<PinnedEvent> getRecentEvents() {
+        return List.copyOf(recent);
+    }
+
+    private void record(RecordedEvent event) {
+        Duration duration = event.getDuration();
+        pinnedTimer.record(duration);
+
+        PinnedEvent pinned = new PinnedEvent(event.getStartTime(), duration.toMillis(), topFrames(event.getStackTrace()));
+        synchronized (this) {
+            if (recent.size() == RECENT_EVENTS) {
+                recent.removeLast();
+            }
+            recent.addFirst(pinned);
+        }
+        log.warn("Virtual thread pinned for {} ms at {}", pinned.durationMs(),
+                pinned.stackTrace().isEmpty() ? "unknown" : pinned.stackTrace().getFirst());
+    }
+
+    private static List<String> topFrames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return List.of();
+        }
+        List<String> frames = new ArrayList<>(STACK_DEPTH);
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frames.size() == STACK_DEPTH) {
+                break;
+            }
+            frames.add(frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                    + ":" + frame.getLineNumber());
+        }
+        return frames;
+    }
+
+    public record PinnedEvent(Instant startTime, long durationMs, List<String> stackTrace) {
+    }
+}
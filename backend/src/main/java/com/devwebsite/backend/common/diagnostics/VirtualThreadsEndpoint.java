@@ -0,0 +1,123 @@
+package com.devwebsite.backend.common.diagnostics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.management.VirtualThreadSchedulerMXBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /actuator/virtualthreads}: whether requests run on virtual threads, the state of the
+ * virtual thread scheduler, recent carrier pinning and connection pool pressure.
+ * With virtual threads the connection pool, not the request thread pool, bounds database concurrency,
+ * so pool waits are the first thing to check when raising load.
+ */
+@Component
+@Endpoint(id = "virtualthreads")
+public class VirtualThreadsEndpoint {
+
+    private final boolean virtualThreadsEnabled;
+    private final ObjectProvider<PinnedThreadMonitor> pinnedThreadMonitor;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    public VirtualThreadsEndpoint(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled,
+            ObjectProvider<PinnedThreadMonitor> pinnedThreadMonitor,
+            DataSource dataSource,
+            MeterRegistry meterRegistry) {
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+        this.pinnedThreadMonitor = pinnedThreadMonitor;
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @ReadOperation
+    public VirtualThreadsReport report() {
+        return new VirtualThreadsReport(virtualThreadsEnabled, scheduler(), pinning(), connectionPool());
+    }
+
+    private SchedulerInfo scheduler() {
+        VirtualThreadSchedulerMXBean bean = ManagementFactory.getPlatformMXBean(VirtualThreadSchedulerMXBean.class);
+        if (bean == null) {
+            return null;
+        }
+        return new SchedulerInfo(
+                bean.getParallelism(),
+                bean.getPoolSize(),
+                bean.getMountedVirtualThreadCount(),
+                bean.getQueuedVirtualThreadCount()
+        );
+    }
+
+    private PinningInfo pinning() {
+        PinnedThreadMonitor monitor = pinnedThreadMonitor.getIfAvailable();
+        if (monitor == null) {
+            return null;
+        }
+        return new PinningInfo(
+                monitor.getPinnedCount(),
+                monitor.getPinnedTotalTime().toMillis(),
+                monitor.getRecentEvents()
+        );
+    }
+
+    private ConnectionPoolInfo connectionPool() {
+        HikariPoolMXBean pool;
+        try {
+            pool = dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean()
+                    : null;
+        } catch (SQLException ex) {
+            pool = null;
+        }
+        if (pool == null) {
+            return null;
+        }
+
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").timer();
+        return new ConnectionPoolInfo(
+                pool.getActiveConnections(),
+                pool.getIdleConnections(),
+                pool.getTotalConnections(),
+                pool.getThreadsAwaitingConnection(),
+                acquire != null ? acquire.mean(TimeUnit.MILLISECONDS) : 0,
+                acquire != null ? acquire.max(TimeUnit.MILLISECONDS) : 0
+        );
+    }
+
+    public record VirtualThreadsReport(
+            boolean virtualThreadsEnabled,
+            SchedulerInfo scheduler,
+            PinningInfo pinning,
+            ConnectionPoolInfo connectionPool
+    ) {
+    }
+
+    public record SchedulerInfo(int parallelism, int poolSize, int mountedVirtualThreads, long queuedVirtualThreads) {
+    }
+
+    public record PinningInfo(long pinnedCount, long pinnedTotalMs, List<PinnedThreadMonitor.PinnedEvent> recent) {
+    }
+
+    public record ConnectionPoolInfo(
+            int active,
+            int idle,
+            int total,
+            int threadsAwaiting,
+            double acquireMeanMs,
+            double acquireMaxMs
+    ) {
+    }
+}
@@ -1,18 +1,23 @@
 package com.devwebsite.backend.common.exception;
 
 import com.devwebsite.backend.common.filter.TraceIdFilter;
+import com.devwebsite.backend.ratelimit.interceptor.RateLimitInterceptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
 import java.net.URI;
@@ -60,6 +65,27 @@ public class GlobalExceptionHandler {
         return problemDetail;
     }
 
+    /**
+     * A required query parameter is missing or does not convert, e.g. {@code /search} without {@code q}.
+     */
+    @ExceptionHandler({MissingServletRequestParameterException.class, MethodArgumentTypeMismatchException.class})
+    public ProblemDetail handleInvalidRequestParameter(Exception ex) {
+        String detail = switch (ex) {
+            case MissingServletRequestParameterException missing ->
+                    "Required parameter '" + missing.getParameterName() + "' is missing";
+            case MethodArgumentTypeMismatchException mismatch ->
+                    "Invalid value for parameter '" + mismatch.getName() + "'";
+            default -> ex.getMessage();
+        };
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, detail);
+        problemDetail.setTitle("Bad Request");
+        problemDetail.setType(URI.create("https://api.devwebsite.com/errors/bad-request"));
+        problemDetail.setProperty("traceId", getTraceId());
+
+        log.warn("Bad request: {}", detail);
+        return problemDetail;
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ProblemDetail handleBadCredentialsException(BadCredentialsException ex) {
         ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
@@ -129,6 +155,41 @@ public class GlobalExceptionHandler {
         return problemDetail;
     }
 
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ProblemDetail> handleRateLimitExceededException(RateLimitExceededException ex) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.TOO_MANY_REQUESTS,
+                ex.getMessage()
+        );
+        problemDetail.setTitle("Too Many Requests");
+        problemDetail.setType(URI.create("https://api.devwebsite.com/errors/rate-limited"));
+        problemDetail.setProperty("traceId", getTraceId());
+
+        log.warn("Rate limit exceeded: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .header(RateLimitInterceptor.LIMIT_HEADER, String.valueOf(ex.getLimit()))
+                .header(RateLimitInterceptor.REMAINING_HEADER, "0")
+                .header(RateLimitInterceptor.RESET_HEADER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(problemDetail);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ProblemDetail> handleServiceOverloadedException(ServiceOverloadedException ex) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ex.getMessage()
+        );
+        problemDetail.setTitle("Service Unavailable");
+        problemDetail.setType(URI.create("https://api.devwebsite.com/errors/overloaded"));
+        problemDetail.setProperty("traceId", getTraceId());
+
+        log.warn("Service overloaded: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(problemDetail);
+    }
+
     @ExceptionHandler(Exception.class)
     public ProblemDetail handleGenericException(Exception ex) {
         ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
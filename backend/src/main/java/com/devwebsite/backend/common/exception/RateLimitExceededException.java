@@ -0,0 +1,21 @@
+package com.devwebsite.backend.common.exception;
+
+public class RateLimitExceededException extends RuntimeException {
+
+    private final int limit;
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(int limit, long retryAfterSeconds) {
+        super(String.format("Rate limit of %d requests per minute exceeded", limit));
+        this.limit = limit;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,41 +1,138 @@
 package com.devwebsite.backend.common.filter;
 
+import com.devwebsite.backend.common.tracing.OtlpSpanExporter;
+import com.devwebsite.backend.common.tracing.RequestTiming;
+import com.devwebsite.backend.common.tracing.TraceContext;
+import com.devwebsite.backend.common.web.BeforeCommitResponse;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
-import java.util.UUID;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * Joins the W3C trace of the caller ({@code traceparent}) or starts a new one, and answers with this
+ * request's {@code traceparent} and {@code X-Trace-Id}. The trace id goes into the MDC for log correlation.
+ * Also times the request phases ({@link RequestTiming}) and reports them in a {@code Server-Timing} header
+ * and, when an {@link OtlpSpanExporter} is enabled, as a span for sampled requests.
+ */
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
 public class TraceIdFilter extends OncePerRequestFilter {
 
     public static final String TRACE_ID_HEADER = "X-Trace-Id";
+    public static final String TRACEPARENT_HEADER = "traceparent";
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
     public static final String TRACE_ID_MDC_KEY = "traceId";
 
+    private static final String LEGACY_TRACE_ID_PADDING = "0".repeat(16);
+
+    private final boolean serverTimingEnabled;
+    private final double sampleRatio;
+    private final OtlpSpanExporter spanExporter;
+
+    public TraceIdFilter(
+            @Value("${app.tracing.server-timing.enabled:true}") boolean serverTimingEnabled,
+            @Value("${app.tracing.sample-ratio:1.0}") double sampleRatio,
+            ObjectProvider<OtlpSpanExporter> spanExporter) {
+        this.serverTimingEnabled = serverTimingEnabled;
+        this.sampleRatio = sampleRatio;
+        this.spanExporter = spanExporter.getIfAvailable();
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
-        String traceId = request.getHeader(TRACE_ID_HEADER);
-        if (traceId == null || traceId.isBlank()) {
-            traceId = UUID.randomUUID().toString().replace("-", "").substring(0, 16);
-        }
+        Instant startedAt = Instant.now();
+        RequestTiming timing = RequestTiming.begin();
+        TraceContext trace = resolveTrace(request);
 
-        MDC.put(TRACE_ID_MDC_KEY, traceId);
-        response.setHeader(TRACE_ID_HEADER, traceId);
+        MDC.put(TRACE_ID_MDC_KEY, trace.traceId());
+        response.setHeader(TRACE_ID_HEADER, trace.traceId());
+        response.setHeader(TRACEPARENT_HEADER, trace.traceparent());
 
+        // Writing the body commits the response, so Server-Timing is set just before that happens
+        HttpServletResponse timedResponse = serverTimingEnabled
+                ? BeforeCommitResponse.onCommit(response,
+                        () -> response.setHeader(SERVER_TIMING_HEADER, timing.serverTiming()))
+                : response;
         try {
-            filterChain.doFilter(request, response);
+            filterChain.doFilter(request, timedResponse);
         } finally {
+            BeforeCommitResponse.commit(timedResponse);
+            RequestTiming.end();
+            if (spanExporter != null && trace.sampled()) {
+                spanExporter.export(toSpan(trace, request, response, startedAt, timing));
+            }
             MDC.remove(TRACE_ID_MDC_KEY);
         }
     }
+
+    /**
+     * Continues the caller's trace from {@code traceparent}; otherwise from a valid {@code X-Trace-Id}
+     * (a 16-digit id is left-padded to 32, as the spec suggests for 64-bit ids); otherwise starts a new trace.
+     */
+    private TraceContext resolveTrace(HttpServletRequest request) {
+        TraceContext parent = TraceContext.parse(request.getHeader(TRACEPARENT_HEADER));
+        if (parent != null) {
+            return parent.child();
+        }
+
+        boolean sampled = sampleRatio >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRatio;
+        String legacyTraceId = request.getHeader(TRACE_ID_HEADER);
+        if (legacyTraceId != null && legacyTraceId.length() == 16) {
+            legacyTraceId = LEGACY_TRACE_ID_PADDING + legacyTraceId;
+        }
+        if (TraceContext.isTraceId(legacyTraceId)) {
+            return TraceContext.inTrace(legacyTraceId, sampled);
+        }
+        return TraceContext.root(sampled);
+    }
+
+    private static OtlpSpanExporter.Span toSpan(TraceContext trace, HttpServletRequest request,
+                                                HttpServletResponse response, Instant startedAt,
+                                                RequestTiming timing) {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        long startEpochNanos = startedAt.getEpochSecond() * 1_000_000_000L + startedAt.getNano();
+
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("http.request.method", request.getMethod());
+        attributes.put("url.path", request.getRequestURI());
+        if (route != null) {
+            attributes.put("http.route", route.toString());
+        }
+        attributes.put("http.response.status_code", (long) response.getStatus());
+        attributes.put("timing.filters_ms", millis(timing.filtersNanos()));
+        attributes.put("timing.auth_ms", millis(timing.phaseNanos(RequestTiming.Phase.AUTH)));
+        attributes.put("timing.handler_ms", millis(timing.handlerNanos()));
+        attributes.put("timing.db_ms", millis(timing.phaseNanos(RequestTiming.Phase.DB)));
+        attributes.put("timing.pool_ms", millis(timing.phaseNanos(RequestTiming.Phase.POOL)));
+        attributes.put("timing.ser_ms", millis(timing.serializationNanos()));
+
+        return new OtlpSpanExporter.Span(
+                trace,
+                request.getMethod() + (route != null ? " " + route : ""),
+                startEpochNanos,
+                startEpochNanos + timing.totalNanos(),
+                response.getStatus() >= 500,
+                attributes);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
 }
@@ -0,0 +1,97 @@
+package com.devwebsite.backend.common.metrics;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hibernate work done by the current request: SQL statements, queries, entity loads and flushes.
+ * Counts accumulate on the request thread between {@link #begin()} and {@link #end()}; work outside a
+ * request (schedulers, {@code @Async}) is not attributed to anything.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> statementCounts = new HashMap<>();
+    private int statements;
+    private int queries;
+    private int entityLoads;
+    private int flushes;
+
+    private RequestStatistics() {
+    }
+
+    static RequestStatistics begin() {
+        RequestStatistics statistics = new RequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Returns the counts of the request running on this thread, or {@code null} outside a request.
+     */
+    public static RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    static void statementPrepared(String sql) {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+            statistics.statementCounts.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    static void queryExecuted() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.queries++;
+        }
+    }
+
+    static void entityLoaded() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.entityLoads++;
+        }
+    }
+
+    static void flushed() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.flushes++;
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public int queries() {
+        return queries;
+    }
+
+    public int entityLoads() {
+        return entityLoads;
+    }
+
+    public int flushes() {
+        return flushes;
+    }
+
+    /**
+     * Statements run at least {@code threshold} times by this request, most repeated first.
+     */
+    public List<Map.Entry<String, Integer>> repeatedStatements(int threshold) {
+        return statementCounts.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .toList();
+    }
+}
@@ -0,0 +1,38 @@
+package com.devwebsite.backend.common.metrics;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * Hibernate statistics that also count queries, entity loads and flushes into the current
+ * {@link RequestStatistics}, so the totals Hibernate keeps for the whole session factory can be broken down
+ * per request. Registered through {@code hibernate.stats.factory}; only called while {@code generate_statistics}
+ * is on. Statements are counted by {@link SqlStatementInspector}, which works either way.
+ */
+public class RequestStatisticsFactory implements StatisticsFactory {
+
+    @Override
+    public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+        return new StatisticsImpl(sessionFactory) {
+            @Override
+            public void queryExecuted(String hql, int rows, long time) {
+                super.queryExecuted(hql, rows, time);
+                RequestStatistics.queryExecuted();
+            }
+
+            @Override
+            public void loadEntity(String entityName) {
+                super.loadEntity(entityName);
+                RequestStatistics.entityLoaded();
+            }
+
+            @Override
+            public void flush() {
+                super.flush();
+                RequestStatistics.flushed();
+            }
+        };
+    }
+}
@@ -0,0 +1,158 @@
+package com.devwebsite.backend.common.metrics;
+
+import com.devwebsite.backend.common.tracing.RequestTiming;
+import com.devwebsite.backend.common.web.BeforeCommitResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the Hibernate work of each request ({@link RequestStatistics}) as distribution summaries:
+ * {@code hibernate.request.statements}, {@code .queries}, {@code .entity.loads} and {@code .flushes},
+ * plus the JDBC time in {@code hibernate.request.jdbc}.
+ * Tagged with the method and the matched route template, never the raw path, so ids do not multiply series.
+ * Runs outside the security chain so principal lookups in the authentication filters are counted too.
+ *
+ * <p>A request that runs more statements than its route's budget, or repeats one statement
+ * {@code repeatThreshold} times (a lazy association loaded per row), is logged with the repeated SQL.
+ * Outside prod the counts are also returned in {@code X-SQL-Count} and {@code X-SQL-Time-Ms}, as they stand
+ * when the response headers go out. The final counts stay in the {@link #STATISTICS_ATTRIBUTE} request attribute.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestStatisticsFilter extends OncePerRequestFilter {
+
+    public static final String SQL_COUNT_HEADER = "X-SQL-Count";
+    public static final String SQL_TIME_HEADER = "X-SQL-Time-Ms";
+    public static final String STATISTICS_ATTRIBUTE = RequestStatisticsFilter.class.getName() + ".statistics";
+
+    private static final Logger log = LoggerFactory.getLogger(RequestStatisticsFilter.class);
+    private static final String UNMATCHED_ROUTE = "UNMATCHED";
+    private static final int MAX_LOGGED_SQL_LENGTH = 300;
+
+    private final MeterRegistry meterRegistry;
+    private final SqlStatsProperties properties;
+    private final boolean hibernateStatistics;
+
+    public RequestStatisticsFilter(
+            MeterRegistry meterRegistry,
+            SqlStatsProperties properties,
+            @Value("${spring.jpa.properties.hibernate.generate_statistics:false}") boolean hibernateStatistics) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.hibernateStatistics = hibernateStatistics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestStatistics statistics = RequestStatistics.begin();
+        request.setAttribute(STATISTICS_ATTRIBUTE, statistics);
+        HttpServletResponse countedResponse = response;
+        if (properties.headers()) {
+            // Writing the body commits the response, so the headers are set just before that happens
+            countedResponse = BeforeCommitResponse.onCommit(response, () -> {
+                response.setHeader(SQL_COUNT_HEADER, Integer.toString(statistics.statements()));
+                response.setHeader(SQL_TIME_HEADER, formatMillis(jdbcNanos()));
+            });
+        }
+        try {
+            filterChain.doFilter(request, countedResponse);
+        } finally {
+            BeforeCommitResponse.commit(countedResponse);
+            RequestStatistics.end();
+            record(request, statistics, jdbcNanos());
+        }
+    }
+
+    private static long jdbcNanos() {
+        RequestTiming timing = RequestTiming.current();
+        return timing != null ? timing.phaseNanos(RequestTiming.Phase.DB) : 0;
+    }
+
+    private void record(HttpServletRequest request, RequestStatistics statistics, long jdbcNanos) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNMATCHED_ROUTE;
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        summary("hibernate.request.statements", "SQL statements prepared per request", tags)
+                .record(statistics.statements());
+        Timer.builder("hibernate.request.jdbc")
+                .description("JDBC statement execution time per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(jdbcNanos, TimeUnit.NANOSECONDS);
+        if (hibernateStatistics) {
+            summary("hibernate.request.queries", "HQL, criteria and native queries per request", tags)
+                    .record(statistics.queries());
+            summary("hibernate.request.entity.loads", "Entities loaded from the database per request", tags)
+                    .record(statistics.entityLoads());
+            summary("hibernate.request.flushes", "Session flushes per request", tags)
+                    .record(statistics.flushes());
+        }
+
+        checkBudget(request.getMethod() + " " + uri, statistics, jdbcNanos, tags);
+    }
+
+    private void checkBudget(String route, RequestStatistics statistics, long jdbcNanos, Tags tags) {
+        int budget = properties.budgetFor(route);
+        boolean overBudget = statistics.statements() > budget;
+        List<Map.Entry<String, Integer>> repeated = statistics.repeatedStatements(properties.repeatThreshold());
+        if (!overBudget && repeated.isEmpty()) {
+            return;
+        }
+
+        if (overBudget) {
+            Counter.builder("hibernate.request.budget.exceeded")
+                    .description("Requests that ran more SQL statements than their route's budget")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+        }
+        StringBuilder message = new StringBuilder();
+        for (Map.Entry<String, Integer> entry : repeated) {
+            message.append("\n  ").append(entry.getValue()).append("x ").append(abbreviate(entry.getKey()));
+        }
+        log.warn("{} ran {} SQL statements in {} ms (budget {}){}{}",
+                route, statistics.statements(), formatMillis(jdbcNanos),
+                budget, repeated.isEmpty() ? "" : ", repeated statements (possible N+1):", message);
+    }
+
+    private DistributionSummary summary(String name, String description, Tags tags) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+
+    private static String abbreviate(String sql) {
+        String singleLine = sql.replaceAll("\\s+", " ").trim();
+        return singleLine.length() <= MAX_LOGGED_SQL_LENGTH
+                ? singleLine
+                : singleLine.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,17 @@
+package com.devwebsite.backend.common.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every SQL statement Hibernate prepares into the current {@link RequestStatistics}, keeping the
+ * text so repeated statements (the signature of a lazy association loaded in a loop) can be reported.
+ * Registered through {@code hibernate.session_factory.statement_inspector}; the SQL passes through unchanged.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatistics.statementPrepared(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,29 @@
+package com.devwebsite.backend.common.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * Per-request SQL statement accounting ({@link RequestStatisticsFilter}).
+ *
+ * @param headers          add {@code X-SQL-Count} and {@code X-SQL-Time-Ms} to responses (non-prod only)
+ * @param defaultBudget    statements a request may run before it is logged
+ * @param budgets          per-route overrides, keyed by {@code "<METHOD> <route template>"}
+ * @param repeatThreshold  an identical statement run this many times in one request is logged as a likely N+1
+ */
+@ConfigurationProperties(prefix = "app.sql-stats")
+public record SqlStatsProperties(
+        boolean headers,
+        int defaultBudget,
+        Map<String, Integer> budgets,
+        int repeatThreshold
+) {
+    public SqlStatsProperties {
+        budgets = budgets != null ? Map.copyOf(budgets) : Map.of();
+    }
+
+    public int budgetFor(String route) {
+        return budgets.getOrDefault(route, defaultBudget);
+    }
+}
@@ -0,0 +1,44 @@
+package com.devwebsite.backend.common.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 of opaque tokens (refresh tokens, API keys, access tokens for cache keys), as raw 32-byte digests.
+ * Platform threads reuse a per-thread digest; virtual threads are short-lived, so they clone a prototype
+ * instead of filling a thread-local that would be discarded with the thread. Either way the provider
+ * lookup of {@link MessageDigest#getInstance(String)} happens once.
+ */
+public final class TokenHasher {
+
+    public static final int HASH_LENGTH = 32;
+
+    private static final MessageDigest PROTOTYPE = newDigest();
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(TokenHasher::copyPrototype);
+
+    private TokenHasher() {
+    }
+
+    public static byte[] hash(String token) {
+        MessageDigest digest = Thread.currentThread().isVirtual() ? copyPrototype() : DIGEST.get();
+        // digest() resets the instance, so a reused digest always starts clean
+        return digest.digest(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+
+    private static MessageDigest copyPrototype() {
+        try {
+            return (MessageDigest) PROTOTYPE.clone();
+        } catch (CloneNotSupportedException e) {
+            return newDigest();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.devwebsite.backend.common.tracing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ships one server span per sampled request to an OpenTelemetry collector as OTLP/HTTP JSON
+ * ({@code POST /v1/traces}). Requests only enqueue; a background thread sends batches, and spans are
+ * dropped (counted in {@code tracing.spans.dropped}) when the collector falls behind rather than
+ * ever blocking a request.
+ */
+@Component
+@ConditionalOnProperty(name = "app.tracing.otlp.enabled", havingValue = "true")
+public class OtlpSpanExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(OtlpSpanExporter.class);
+    private static final int SPAN_KIND_SERVER = 2;
+    private static final int STATUS_CODE_ERROR = 2;
+
+    /**
+     * A finished server span; {@code attributes} values are strings, longs or doubles.
+     */
+    public record Span(
+            TraceContext context,
+            String name,
+            long startEpochNanos,
+            long endEpochNanos,
+            boolean error,
+            Map<String, Object> attributes
+    ) {
+    }
+
+    private final URI endpoint;
+    private final String serviceName;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final BlockingQueue<Span> queue;
+    private final JsonMapper jsonMapper;
+    private final HttpClient httpClient;
+    private final Counter exportedCount;
+    private final Counter droppedCount;
+    private final Counter failedCount;
+    private final Thread worker;
+
+    private volatile boolean running = true;
+
+    public OtlpSpanExporter(
+            @Value("${app.tracing.otlp.endpoint:http://localhost:4318/v1/traces}") URI endpoint,
+            @Value("${spring.application.name}") String serviceName,
+            @Value("${app.tracing.otlp.queue-capacity:2048}") int queueCapacity,
+            @Value("${app.tracing.otlp.batch-size:512}") int batchSize,
+            @Value("${app.tracing.otlp.flush-interval:1s}") Duration flushInterval,
+            JsonMapper jsonMapper,
+            MeterRegistry meterRegistry) {
+        this.endpoint = endpoint;
+        this.serviceName = serviceName;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.jsonMapper = jsonMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        this.exportedCount = Counter.builder("tracing.spans.exported").register(meterRegistry);
+        this.droppedCount = Counter.builder("tracing.spans.dropped")
+                .description("Spans discarded because the export queue was full")
+                .register(meterRegistry);
+        this.failedCount = Counter.builder("tracing.spans.failed")
+                .description("Spans lost to a failed export request")
+                .register(meterRegistry);
+        this.worker = Thread.ofPlatform().daemon().name("otlp-span-exporter").start(this::run);
+    }
+
+    public void export(Span span) {
+        if (!queue.offer(span)) {
+            droppedCount.increment();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(flushInterval.toMillis() + 5000);
+    }
+
+    private void run() {
+        List<Span> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Span first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+            } catch (InterruptedException ex) {
+                // shutting down: drain what is left and send it below
+                queue.drainTo(batch, batchSize);
+            }
+            if (!batch.isEmpty()) {
+                send(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<Span> batch) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(endpoint)
+                    .timeout(Duration.ofSeconds(5))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(jsonMapper.writeValueAsBytes(toOtlp(batch))))
+                    .build();
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 == 2) {
+                exportedCount.increment(batch.size());
+                return;
+            }
+            log.debug("OTLP collector at {} returned {}", endpoint, response.statusCode());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            log.debug("Could not export {} spans to {}: {}", batch.size(), endpoint, ex.toString());
+        }
+        failedCount.increment(batch.size());
+    }
+
+    /**
+     * Maps spans onto the OTLP JSON encoding: ids as hex strings, 64-bit integers as decimal strings.
+     */
+    private Map<String, Object> toOtlp(List<Span> batch) {
+        List<Map<String, Object>> spans = new ArrayList<>(batch.size());
+        for (Span span : batch) {
+            TraceContext context = span.context();
+            Map<String, Object> otlpSpan = new LinkedHashMap<>();
+            otlpSpan.put("traceId", context.traceId());
+            otlpSpan.put("spanId", context.spanId());
+            if (context.parentSpanId() != null) {
+                otlpSpan.put("parentSpanId", context.parentSpanId());
+            }
+            otlpSpan.put("name", span.name());
+            otlpSpan.put("kind", SPAN_KIND_SERVER);
+            otlpSpan.put("startTimeUnixNano", Long.toString(span.startEpochNanos()));
+            otlpSpan.put("endTimeUnixNano", Long.toString(span.endEpochNanos()));
+            otlpSpan.put("attributes", attributes(span.attributes()));
+            if (span.error()) {
+                otlpSpan.put("status", Map.of("code", STATUS_CODE_ERROR));
+            }
+            spans.add(otlpSpan);
+        }
+
+        return Map.of("resourceSpans", List.of(Map.of(
+                "resource", Map.of("attributes", attributes(Map.of("service.name", serviceName))),
+                "scopeSpans", List.of(Map.of(
+                        "scope", Map.of("name", "com.devwebsite.backend"),
+                        "spans", spans)))));
+    }
+
+    private static List<Map<String, Object>> attributes(Map<String, Object> attributes) {
+        List<Map<String, Object>> result = new ArrayList<>(attributes.size());
+        attributes.forEach((key, value) -> result.add(Map.of("key", key, "value", switch (value) {
+            case Long number -> Map.of("intValue", number.toString());
+            case Integer number -> Map.of("intValue", number.toString());
+            case Double number -> Map.of("doubleValue", number);
+            default -> Map.of("stringValue", String.valueOf(value));
+        })));
+        return result;
+    }
+}
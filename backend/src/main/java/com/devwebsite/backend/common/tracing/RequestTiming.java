@@ -0,0 +1,143 @@
+package com.devwebsite.backend.common.tracing;
+
+import java.util.Locale;
+
+/**
+ * Where the time of the current request went, accumulated on the request thread between
+ * {@link #begin()} and {@link #end()}:
+ * <ul>
+ *   <li>{@code filters}: servlet and security filters before the handler, excluding authentication</li>
+ *   <li>{@code auth}: the JWT and API key authentication filters</li>
+ *   <li>{@code handler}: from dispatch until the response body is written (includes {@code db})</li>
+ *   <li>{@code db}: JDBC statement execution, {@code pool}: waiting for a pooled connection</li>
+ *   <li>{@code ser}: writing the response body through the message converters</li>
+ * </ul>
+ * Database time is reported by Hibernate ({@link TimingSessionEventListener}), so statements issued
+ * through {@code JdbcClient} count toward {@code handler} only.
+ */
+public final class RequestTiming {
+
+    public enum Phase {
+        AUTH,
+        DB,
+        POOL
+    }
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos;
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private long dispatchNanos;
+    private long bodyWriteStartNanos;
+    private long completedNanos;
+    private long endNanos;
+
+    private RequestTiming(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    public static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * Stops the clock of the current request and detaches it from the thread.
+     */
+    public static RequestTiming end() {
+        RequestTiming timing = CURRENT.get();
+        CURRENT.remove();
+        timing.endNanos = System.nanoTime();
+        return timing;
+    }
+
+    /**
+     * Returns the timing of the request running on this thread, or {@code null} outside a request.
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Adds {@code nanos} to a phase of the current request; does nothing outside a request.
+     */
+    public static void add(Phase phase, long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.phaseNanos[phase.ordinal()] += nanos;
+        }
+    }
+
+    void dispatched() {
+        if (dispatchNanos == 0) {
+            dispatchNanos = System.nanoTime();
+        }
+    }
+
+    void bodyWriteStarted() {
+        if (bodyWriteStartNanos == 0) {
+            bodyWriteStartNanos = System.nanoTime();
+        }
+    }
+
+    void completed() {
+        if (completedNanos == 0) {
+            completedNanos = System.nanoTime();
+        }
+    }
+
+    public long startNanos() {
+        return startNanos;
+    }
+
+    public long totalNanos() {
+        return (endNanos != 0 ? endNanos : System.nanoTime()) - startNanos;
+    }
+
+    public long phaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /** Time before the handler ran, without authentication; the whole request if it never reached one. */
+    public long filtersNanos() {
+        long beforeHandler = (dispatchNanos != 0 ? dispatchNanos - startNanos : totalNanos());
+        return Math.max(0, beforeHandler - phaseNanos(Phase.AUTH));
+    }
+
+    public long handlerNanos() {
+        if (dispatchNanos == 0) {
+            return 0;
+        }
+        long handlerEnd = bodyWriteStartNanos != 0 ? bodyWriteStartNanos
+                : completedNanos != 0 ? completedNanos : startNanos + totalNanos();
+        return handlerEnd - dispatchNanos;
+    }
+
+    public long serializationNanos() {
+        return bodyWriteStartNanos != 0 && completedNanos != 0 ? completedNanos - bodyWriteStartNanos : 0;
+    }
+
+    /**
+     * Renders the phases as a {@code Server-Timing} header value, durations in milliseconds.
+     * Headers go out before the body is written, so {@code total} ends at that point and
+     * serialization is left to the exported span.
+     */
+    public String serverTiming() {
+        StringBuilder header = new StringBuilder(128);
+        append(header, "total", totalNanos());
+        append(header, "filters", filtersNanos());
+        append(header, "auth", phaseNanos(Phase.AUTH));
+        append(header, "handler", handlerNanos());
+        append(header, "db", phaseNanos(Phase.DB));
+        append(header, "pool", phaseNanos(Phase.POOL));
+        return header.toString();
+    }
+
+    private static void append(StringBuilder header, String name, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0));
+    }
+}
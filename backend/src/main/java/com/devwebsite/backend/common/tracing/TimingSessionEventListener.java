@@ -0,0 +1,45 @@
+package com.devwebsite.backend.common.tracing;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the JDBC time of a Hibernate session to the {@link RequestTiming} of the current request.
+ * Hibernate creates one instance per session ({@code hibernate.session.events.auto}), and a session
+ * is used by one thread at a time, so plain fields hold the start timestamps.
+ */
+public class TimingSessionEventListener implements SessionEventListener {
+
+    private long acquisitionStart;
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        acquisitionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        RequestTiming.add(RequestTiming.Phase.POOL, System.nanoTime() - acquisitionStart);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestTiming.add(RequestTiming.Phase.DB, System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestTiming.add(RequestTiming.Phase.DB, System.nanoTime() - batchStart);
+    }
+}
@@ -0,0 +1,115 @@
+package com.devwebsite.backend.common.tracing;
+
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The W3C Trace Context of a request: the trace it belongs to, its own span id, the caller's span id
+ * and the sampled flag. Rendered and parsed as a {@code traceparent} header
+ * ({@code 00-<32 hex trace id>-<16 hex span id>-<2 hex flags>}).
+ */
+public record TraceContext(
+        String traceId,
+        String spanId,
+        String parentSpanId,
+        boolean sampled
+) {
+    private static final HexFormat HEX = HexFormat.of();
+    private static final String INVALID_TRACE_ID = "0".repeat(32);
+    private static final String INVALID_SPAN_ID = "0".repeat(16);
+    private static final int TRACEPARENT_LENGTH = 55;
+
+    /**
+     * Starts a new trace.
+     */
+    public static TraceContext root(boolean sampled) {
+        return new TraceContext(newTraceId(), newSpanId(), null, sampled);
+    }
+
+    /**
+     * Starts a span in an existing trace whose id came from elsewhere (e.g. {@code X-Trace-Id}).
+     */
+    public static TraceContext inTrace(String traceId, boolean sampled) {
+        return new TraceContext(traceId, newSpanId(), null, sampled);
+    }
+
+    /**
+     * A child span of this one, as the server side of a call made under this context.
+     */
+    public TraceContext child() {
+        return new TraceContext(traceId, newSpanId(), spanId, sampled);
+    }
+
+    public String traceparent() {
+        return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    /**
+     * Parses a {@code traceparent} header. Returns {@code null} if it is absent or invalid, in which case
+     * the spec says to start a new trace. Versions above 00 are read by their 00 prefix.
+     */
+    public static TraceContext parse(String traceparent) {
+        if (traceparent == null) {
+            return null;
+        }
+        String value = traceparent.trim();
+        if (value.length() < TRACEPARENT_LENGTH
+                || (value.length() > TRACEPARENT_LENGTH && value.charAt(TRACEPARENT_LENGTH) != '-')
+                || value.charAt(2) != '-' || value.charAt(35) != '-' || value.charAt(52) != '-') {
+            return null;
+        }
+
+        String version = value.substring(0, 2);
+        String traceId = value.substring(3, 35);
+        String parentId = value.substring(36, 52);
+        String flags = value.substring(53, 55);
+        if (!isLowerHex(version) || "ff".equals(version)
+                || ("00".equals(version) && value.length() != TRACEPARENT_LENGTH)
+                || !isTraceId(traceId) || !isLowerHex(parentId) || INVALID_SPAN_ID.equals(parentId)
+                || !isLowerHex(flags)) {
+            return null;
+        }
+        boolean sampled = (HexFormat.fromHexDigits(flags) & 0x01) != 0;
+        return new TraceContext(traceId, parentId, null, sampled);
+    }
+
+    /**
+     * Whether {@code value} is a valid W3C trace id: 32 lowercase hex digits, not all zero.
+     */
+    public static boolean isTraceId(String value) {
+        return value != null && value.length() == 32 && isLowerHex(value) && !INVALID_TRACE_ID.equals(value);
+    }
+
+    /**
+     * 32 hex digits from {@link ThreadLocalRandom}: ids only need to be unique, not unpredictable,
+     * and a per-thread generator never blocks or contends the way a shared SecureRandom does.
+     */
+    public static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high = random.nextLong();
+        long low;
+        do {
+            low = random.nextLong();
+        } while (low == 0);
+        return HEX.toHexDigits(high) + HEX.toHexDigits(low);
+    }
+
+    public static String newSpanId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id;
+        do {
+            id = random.nextLong();
+        } while (id == 0);
+        return HEX.toHexDigits(id);
+    }
+
+    private static boolean isLowerHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
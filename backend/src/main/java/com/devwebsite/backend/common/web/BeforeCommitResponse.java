@@ -0,0 +1,99 @@
+package com.devwebsite.backend.common.web;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lets filters set response headers that depend on the work done by the handler.
+ * The message converters flush the body as they write it, which commits the response, so a header set
+ * after the filter chain returns never reaches a response with a body. Hooks registered here run once,
+ * just before the first {@code getOutputStream}, {@code getWriter}, {@code flushBuffer}, {@code sendError}
+ * or {@code sendRedirect}, or from {@link #commit} for responses that never write a body.
+ */
+public final class BeforeCommitResponse extends HttpServletResponseWrapper {
+
+    private final List<Runnable> hooks = new ArrayList<>(2);
+    private boolean hooksRun;
+
+    private BeforeCommitResponse(HttpServletResponse response) {
+        super(response);
+    }
+
+    /**
+     * Registers {@code hook} on the wrapper already present in the chain, or wraps {@code response}.
+     * Returns the response to pass down the filter chain.
+     */
+    public static HttpServletResponse onCommit(HttpServletResponse response, Runnable hook) {
+        BeforeCommitResponse existing = WebUtils.getNativeResponse(response, BeforeCommitResponse.class);
+        if (existing != null && !existing.hooksRun) {
+            existing.hooks.add(hook);
+            return response;
+        }
+        BeforeCommitResponse wrapper = new BeforeCommitResponse(response);
+        wrapper.hooks.add(hook);
+        return wrapper;
+    }
+
+    /**
+     * Runs the hooks still pending on {@code response}; filters call this once the chain has returned.
+     */
+    public static void commit(HttpServletResponse response) {
+        BeforeCommitResponse wrapper = WebUtils.getNativeResponse(response, BeforeCommitResponse.class);
+        if (wrapper != null) {
+            wrapper.runHooks();
+        }
+    }
+
+    private void runHooks() {
+        if (hooksRun) {
+            return;
+        }
+        hooksRun = true;
+        if (!getResponse().isCommitted()) {
+            hooks.forEach(Runnable::run);
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        runHooks();
+        return super.getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        runHooks();
+        return super.getWriter();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        runHooks();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        runHooks();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        runHooks();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        runHooks();
+        super.sendRedirect(location);
+    }
+}
@@ -0,0 +1,35 @@
+package com.devwebsite.backend.common.web;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Version of a public resource, used to answer conditional GETs without loading it.
+ * For collections it is the latest {@code updatedAt} plus the row count, so deletions change it too;
+ * for a single entity the count is {@code 1}.
+ */
+public record ContentVersion(
+        LocalDateTime lastModified,
+        long count
+) {
+    public static ContentVersion of(LocalDateTime updatedAt) {
+        return new ContentVersion(updatedAt, 1);
+    }
+
+    /**
+     * Strong entity tag, for example {@code "3-18f2a1c9b40"}.
+     */
+    public String eTag() {
+        return "\"" + count + "-" + Long.toHexString(Math.max(lastModifiedMillis(), 0)) + "\"";
+    }
+
+    /**
+     * Epoch millis of {@link #lastModified()}, or {@code -1} when the collection is empty.
+     */
+    public long lastModifiedMillis() {
+        if (lastModified == null) {
+            return -1;
+        }
+        return lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
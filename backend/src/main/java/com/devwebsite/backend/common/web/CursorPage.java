@@ -0,0 +1,30 @@
+package com.devwebsite.backend.common.web;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One slice of a keyset-paginated feed. {@code nextCursor} is {@code null} on the last slice.
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor,
+        boolean hasNext
+) {
+    /**
+     * Builds a slice from rows fetched with {@code limit + 1}; the extra row only signals that more exist.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, Cursor> cursorOf) {
+        return ofEncoded(rows, limit, row -> cursorOf.apply(row).encode());
+    }
+
+    /**
+     * Like {@link #of}, for feeds whose position is not a (timestamp, id) pair and that encode their own cursor.
+     */
+    public static <T> CursorPage<T> ofEncoded(List<T> rows, int limit, Function<T, String> encodedCursorOf) {
+        boolean hasNext = rows.size() > limit;
+        List<T> items = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? encodedCursorOf.apply(items.getLast()) : null;
+        return new CursorPage<>(List.copyOf(items), nextCursor, hasNext);
+    }
+}
@@ -0,0 +1,11 @@
+package com.devwebsite.backend.common.web;
+
+/**
+ * A response body serialized ahead of time, with the version it was rendered from.
+ * Served as-is for resources that change far less often than they are read.
+ */
+public record RenderedJson(
+        byte[] body,
+        ContentVersion version
+) {
+}
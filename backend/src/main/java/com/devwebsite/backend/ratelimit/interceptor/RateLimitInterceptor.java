@@ -0,0 +1,60 @@
+package com.devwebsite.backend.ratelimit.interceptor;
+
+import com.devwebsite.backend.apikey.filter.ApiKeyAuthenticationFilter;
+import com.devwebsite.backend.common.exception.RateLimitExceededException;
+import com.devwebsite.backend.ratelimit.service.PlanRateLimitResolver;
+import com.devwebsite.backend.ratelimit.service.RateLimiter;
+import com.devwebsite.backend.user.entity.User;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Enforces per-plan request limits for authenticated callers.
+ * API key requests get a bucket per key; all other requests share a bucket per user.
+ * Rejections surface as {@link RateLimitExceededException} so they render as Problem Details.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String LIMIT_HEADER = "RateLimit-Limit";
+    public static final String REMAINING_HEADER = "RateLimit-Remaining";
+    public static final String RESET_HEADER = "RateLimit-Reset";
+
+    private final RateLimiter rateLimiter;
+    private final PlanRateLimitResolver planRateLimitResolver;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter, PlanRateLimitResolver planRateLimitResolver) {
+        this.rateLimiter = rateLimiter;
+        this.planRateLimitResolver = planRateLimitResolver;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof User user)) {
+            return true;
+        }
+
+        int limit = planRateLimitResolver.requestsPerMinute(user);
+        if (limit == PlanRateLimitResolver.UNLIMITED) {
+            return true;
+        }
+
+        long result = request.getAttribute(ApiKeyAuthenticationFilter.API_KEY_ID_ATTRIBUTE) instanceof Long apiKeyId
+                ? rateLimiter.tryAcquire(RateLimiter.Scope.API_KEY, apiKeyId, limit)
+                : rateLimiter.tryAcquire(RateLimiter.Scope.USER, user.getId(), limit);
+
+        if (!RateLimiter.isAllowed(result)) {
+            throw new RateLimitExceededException(limit, Math.ceilDiv(-result, 1000));
+        }
+
+        response.setHeader(LIMIT_HEADER, String.valueOf(limit));
+        response.setHeader(REMAINING_HEADER, String.valueOf(result));
+        response.setHeader(RESET_HEADER, String.valueOf(Math.ceilDiv((limit - result) * 60, limit)));
+        return true;
+    }
+}
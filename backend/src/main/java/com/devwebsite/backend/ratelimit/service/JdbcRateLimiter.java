@@ -0,0 +1,76 @@
+package com.devwebsite.backend.ratelimit.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cluster-wide rate limiter backed by the shared PostgreSQL database.
+ * Runs the same GCRA as {@link InMemoryRateLimiter} as a single upsert against the unlogged
+ * {@code rate_limit_buckets} table, using the database clock so that nodes need not agree on time.
+ * Costs one round trip per acquire; prefer the in-memory backend on a single node.
+ * Buckets are keyed by {@link Scope#key}; building that string is noise next to the round trip.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "jdbc")
+public class JdbcRateLimiter implements RateLimiter {
+
+    private static final long PERIOD_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private static final String ACQUIRE_SQL = """
+            WITH clock AS (
+                SELECT (EXTRACT(EPOCH FROM clock_timestamp()) * 1000000)::BIGINT AS now_us
+            ),
+            acquired AS (
+                INSERT INTO rate_limit_buckets AS b (bucket_key, tat)
+                SELECT :key, clock.now_us + :interval FROM clock
+                ON CONFLICT (bucket_key) DO UPDATE
+                    SET tat = GREATEST(b.tat, EXCLUDED.tat - :interval) + :interval
+                    WHERE GREATEST(b.tat, EXCLUDED.tat - :interval) + :interval - :burst <= EXCLUDED.tat - :interval
+                RETURNING b.tat
+            )
+            SELECT (SELECT now_us FROM clock) AS now_us,
+                   (SELECT tat FROM acquired) AS new_tat,
+                   (SELECT tat FROM rate_limit_buckets WHERE bucket_key = :key) AS current_tat
+            """;
+
+    private static final String EVICT_SQL = """
+            DELETE FROM rate_limit_buckets
+            WHERE tat < (EXTRACT(EPOCH FROM clock_timestamp()) * 1000000)::BIGINT
+            """;
+
+    private final JdbcClient jdbcClient;
+
+    public JdbcRateLimiter(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    @Override
+    public long tryAcquire(Scope scope, long id, int limitPerMinute) {
+        long interval = PERIOD_MICROS / limitPerMinute;
+        long burst = interval * limitPerMinute;
+
+        return jdbcClient.sql(ACQUIRE_SQL)
+                .param("key", scope.key(id))
+                .param("interval", interval)
+                .param("burst", burst)
+                .query((rs, rowNum) -> {
+                    long now = rs.getLong("now_us");
+                    long newTat = rs.getLong("new_tat");
+                    if (!rs.wasNull()) {
+                        return (burst - (newTat - now)) / interval;
+                    }
+                    long allowAt = rs.getLong("current_tat") + interval - burst;
+                    return -Math.max(TimeUnit.MICROSECONDS.toMillis(allowAt - now), 1);
+                })
+                .single();
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleBuckets() {
+        jdbcClient.sql(EVICT_SQL).update();
+    }
+}
@@ -0,0 +1,84 @@
+package com.devwebsite.backend.ratelimit.service;
+
+import com.devwebsite.backend.billing.dto.PlanResponse;
+import com.devwebsite.backend.billing.repository.SubscriptionRepository;
+import com.devwebsite.backend.billing.service.PlanCatalog;
+import com.devwebsite.backend.common.transaction.AfterCommit;
+import com.devwebsite.backend.user.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Resolves a user's request limit from the {@code requests_per_minute} feature of their plan.
+ * Limits are cached per user so the hot path does not touch the database. A plan change on another node
+ * reaches this cache within a sync interval ({@code SubscriptionCacheSync}).
+ */
+@Component
+public class PlanRateLimitResolver {
+
+    public static final int UNLIMITED = -1;
+
+    private static final String FEATURE_KEY = "requests_per_minute";
+    private static final String DEFAULT_PLAN_NAME = "free";
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final PlanCatalog planCatalog;
+    private final int defaultRequestsPerMinute;
+    private final Cache<Long, Integer> limits;
+    // Created once: a lambda capturing the user would allocate on every rate-limited request
+    private final Function<Long, Integer> limitLoader = this::loadLimit;
+
+    public PlanRateLimitResolver(
+            SubscriptionRepository subscriptionRepository,
+            PlanCatalog planCatalog,
+            MeterRegistry meterRegistry,
+            @Value("${app.rate-limit.default-requests-per-minute:60}") int defaultRequestsPerMinute,
+            @Value("${app.rate-limit.plan-cache-ttl:5m}") Duration planCacheTtl) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.planCatalog = planCatalog;
+        this.defaultRequestsPerMinute = defaultRequestsPerMinute;
+        this.limits = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(planCacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, limits, "planRateLimit");
+    }
+
+    /**
+     * Returns the user's requests per minute, or {@link #UNLIMITED}.
+     */
+    public int requestsPerMinute(User user) {
+        return limits.get(user.getId(), limitLoader);
+    }
+
+    /**
+     * Drops the cached limit once the surrounding transaction commits, e.g. after a plan change.
+     */
+    public void invalidate(Long userId) {
+        AfterCommit.run(() -> limits.invalidate(userId));
+    }
+
+    private int loadLimit(Long userId) {
+        PlanResponse plan = subscriptionRepository.findPlanIdByUserId(userId)
+                .flatMap(planCatalog::findById)
+                .or(() -> planCatalog.findByName(DEFAULT_PLAN_NAME))
+                .orElse(null);
+        return plan != null ? limitOf(plan.features()) : defaultRequestsPerMinute;
+    }
+
+    private int limitOf(Map<String, Object> features) {
+        if (features != null && features.get(FEATURE_KEY) instanceof Number limit) {
+            return limit.intValue() > 0 ? limit.intValue() : UNLIMITED;
+        }
+        return defaultRequestsPerMinute;
+    }
+}
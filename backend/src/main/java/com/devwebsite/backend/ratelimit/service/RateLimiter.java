@@ -0,0 +1,42 @@
+package com.devwebsite.backend.ratelimit.service;
+
+/**
+ * Token bucket rate limiter backend.
+ * Results are encoded in a primitive so that the acquire path allocates nothing.
+ */
+public interface RateLimiter {
+
+    /**
+     * Tries to take one token from the bucket of principal {@code id} within {@code scope}.
+     * A bucket holds at most {@code limitPerMinute} tokens and refills continuously.
+     *
+     * @return the remaining tokens ({@code >= 0}) if the request is allowed, or the negated
+     *         number of milliseconds until the next token ({@code < 0}) if it is rejected
+     */
+    long tryAcquire(Scope scope, long id, int limitPerMinute);
+
+    static boolean isAllowed(long result) {
+        return result >= 0;
+    }
+
+    /**
+     * The kind of principal a bucket belongs to. Ids are only unique within a scope.
+     */
+    enum Scope {
+        USER("user:"),
+        API_KEY("key:");
+
+        private final String prefix;
+
+        Scope(String prefix) {
+            this.prefix = prefix;
+        }
+
+        /**
+         * The textual bucket key, for backends that cannot key by scope and id directly.
+         */
+        public String key(long id) {
+            return prefix + id;
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.devwebsite.backend.release.controller;
 
+import com.devwebsite.backend.common.web.ContentVersion;
+import com.devwebsite.backend.common.web.Cursor;
+import com.devwebsite.backend.common.web.CursorPage;
 import com.devwebsite.backend.release.dto.ReleaseResponse;
+import com.devwebsite.backend.release.dto.ReleaseSummaryResponse;
 import com.devwebsite.backend.release.entity.Release;
 import com.devwebsite.backend.release.service.ReleaseService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,12 +18,15 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/releases")
 @Tag(name = "Releases", description = "Public release endpoints")
 public class ReleaseController {
 
+    private static final int MAX_FEED_LIMIT = 100;
+
     private final ReleaseService releaseService;
 
     public ReleaseController(ReleaseService releaseService) {
@@ -29,30 +36,64 @@ public class ReleaseController {
     @GetMapping
     @Operation(summary = "Get all releases")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Releases retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Releases retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Releases not modified")
     })
-    public ResponseEntity<Page<ReleaseResponse>> getReleases(
+    public ResponseEntity<Page<ReleaseSummaryResponse>> getReleases(
             @Parameter(description = "Filter by release type (MAJOR, MINOR, PATCH, HOTFIX)")
             @RequestParam(required = false) Release.ReleaseType type,
-            @PageableDefault(size = 10, sort = "releasedAt", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 10, sort = "releasedAt", direction = Sort.Direction.DESC) Pageable pageable,
+            WebRequest webRequest) {
+
+        ContentVersion version = releaseService.getReleasesVersion(type);
+        if (webRequest.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null;
+        }
 
-        Page<ReleaseResponse> releases;
+        Page<ReleaseSummaryResponse> releases;
         if (type != null) {
-            releases = releaseService.getReleasesByType(type, pageable);
+            releases = releaseService.getReleaseSummariesByType(type, pageable);
         } else {
-            releases = releaseService.getAllReleases(pageable);
+            releases = releaseService.getReleaseSummaries(pageable);
         }
 
         return ResponseEntity.ok(releases);
     }
 
+    @GetMapping("/feed")
+    @Operation(summary = "Get releases as a cursor-paginated feed")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Releases retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    public ResponseEntity<CursorPage<ReleaseSummaryResponse>> getReleaseFeed(
+            @Parameter(description = "Filter by release type (MAJOR, MINOR, PATCH, HOTFIX)")
+            @RequestParam(required = false) Release.ReleaseType type,
+            @Parameter(description = "Cursor returned as nextCursor by the previous call")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of items (1-100)")
+            @RequestParam(defaultValue = "10") int limit) {
+
+        CursorPage<ReleaseSummaryResponse> feed = releaseService.getFeed(
+                type,
+                after != null ? Cursor.decode(after) : null,
+                Math.clamp(limit, 1, MAX_FEED_LIMIT));
+        return ResponseEntity.ok(feed);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get a release by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Release retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Release not modified"),
             @ApiResponse(responseCode = "404", description = "Release not found")
     })
-    public ResponseEntity<ReleaseResponse> getRelease(@PathVariable Long id) {
+    public ResponseEntity<ReleaseResponse> getRelease(@PathVariable Long id, WebRequest webRequest) {
+        ContentVersion version = releaseService.getReleaseVersion(id);
+        if (webRequest.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null;
+        }
+
         ReleaseResponse release = releaseService.getRelease(id);
         return ResponseEntity.ok(release);
     }
@@ -0,0 +1,27 @@
+package com.devwebsite.backend.release.dto;
+
+import com.devwebsite.backend.release.entity.Release;
+
+import java.time.LocalDateTime;
+
+/**
+ * List view of a release. Built directly by a JPQL constructor query,
+ * so neither the full content nor the author entity is loaded.
+ */
+public record ReleaseSummaryResponse(
+        Long id,
+        String version,
+        String title,
+        String excerpt,
+        String releaseType,
+        LocalDateTime releasedAt,
+        ReleaseResponse.AuthorInfo author
+) {
+    public static final int EXCERPT_LENGTH = 200;
+
+    public ReleaseSummaryResponse(Long id, String version, String title, String excerpt, Release.ReleaseType releaseType,
+                                  LocalDateTime releasedAt, Long authorId, String authorNickname) {
+        this(id, version, title, excerpt, releaseType.name(), releasedAt,
+                authorId != null ? new ReleaseResponse.AuthorInfo(authorId, authorNickname) : null);
+    }
+}
@@ -1,6 +1,9 @@
 package com.devwebsite.backend.release.repository;
 
+import com.devwebsite.backend.common.web.ContentVersion;
+import com.devwebsite.backend.release.dto.ReleaseSummaryResponse;
 import com.devwebsite.backend.release.entity.Release;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,19 +11,61 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ReleaseRepository extends JpaRepository<Release, Long> {
 
+    // Public list views select the summary columns and an excerpt only; full content is loaded for the detail view
+    String SUMMARY_SELECT = "SELECT new com.devwebsite.backend.release.dto.ReleaseSummaryResponse(" +
+            "r.id, r.version, r.title, SUBSTRING(r.content, 1, " + ReleaseSummaryResponse.EXCERPT_LENGTH + "), " +
+            "r.releaseType, r.releasedAt, u.id, u.nickname) " +
+            "FROM Release r LEFT JOIN r.author u ";
+
     @Query("SELECT r FROM Release r LEFT JOIN FETCH r.author ORDER BY r.releasedAt DESC")
     Page<Release> findAllWithAuthor(Pageable pageable);
 
     @Query("SELECT r FROM Release r LEFT JOIN FETCH r.author WHERE r.id = :id")
     Optional<Release> findByIdWithAuthor(@Param("id") Long id);
 
-    @Query("SELECT r FROM Release r LEFT JOIN FETCH r.author WHERE r.releaseType = :releaseType ORDER BY r.releasedAt DESC")
-    Page<Release> findAllByReleaseType(@Param("releaseType") Release.ReleaseType releaseType, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "ORDER BY r.releasedAt DESC",
+            countQuery = "SELECT COUNT(r) FROM Release r")
+    Page<ReleaseSummaryResponse> findSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE r.releaseType = :releaseType ORDER BY r.releasedAt DESC",
+            countQuery = "SELECT COUNT(r) FROM Release r WHERE r.releaseType = :releaseType")
+    Page<ReleaseSummaryResponse> findSummariesByReleaseType(@Param("releaseType") Release.ReleaseType releaseType,
+                                                            Pageable pageable);
 
     boolean existsByVersion(String version);
+
+    // Keyset feeds: seek on (released_at, id) and never count
+
+    @Query(SUMMARY_SELECT + "ORDER BY r.releasedAt DESC, r.id DESC")
+    List<ReleaseSummaryResponse> findFeed(Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE (r.releasedAt, r.id) < (:releasedAt, :id) ORDER BY r.releasedAt DESC, r.id DESC")
+    List<ReleaseSummaryResponse> findFeedAfter(@Param("releasedAt") LocalDateTime releasedAt, @Param("id") Long id,
+                                               Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE r.releaseType = :releaseType ORDER BY r.releasedAt DESC, r.id DESC")
+    List<ReleaseSummaryResponse> findFeedByReleaseType(@Param("releaseType") Release.ReleaseType releaseType,
+                                                       Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE r.releaseType = :releaseType " +
+            "AND (r.releasedAt, r.id) < (:releasedAt, :id) ORDER BY r.releasedAt DESC, r.id DESC")
+    List<ReleaseSummaryResponse> findFeedByReleaseTypeAfter(@Param("releaseType") Release.ReleaseType releaseType,
+                                                            @Param("releasedAt") LocalDateTime releasedAt,
+                                                            @Param("id") Long id, Limit limit);
+
+    @Query("SELECT new com.devwebsite.backend.common.web.ContentVersion(MAX(r.updatedAt), COUNT(r)) FROM Release r")
+    ContentVersion findVersion();
+
+    @Query("SELECT new com.devwebsite.backend.common.web.ContentVersion(MAX(r.updatedAt), COUNT(r)) FROM Release r WHERE r.releaseType = :releaseType")
+    ContentVersion findVersionByReleaseType(@Param("releaseType") Release.ReleaseType releaseType);
+
+    @Query("SELECT r.updatedAt FROM Release r WHERE r.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
 }
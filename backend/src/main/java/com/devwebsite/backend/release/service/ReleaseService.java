@@ -1,18 +1,27 @@
 package com.devwebsite.backend.release.service;
 
 import com.devwebsite.backend.common.exception.ResourceNotFoundException;
+import com.devwebsite.backend.common.web.ContentVersion;
+import com.devwebsite.backend.common.web.Cursor;
+import com.devwebsite.backend.common.web.CursorPage;
 import com.devwebsite.backend.release.dto.CreateReleaseRequest;
 import com.devwebsite.backend.release.dto.ReleaseResponse;
+import com.devwebsite.backend.release.dto.ReleaseSummaryResponse;
 import com.devwebsite.backend.release.dto.UpdateReleaseRequest;
 import com.devwebsite.backend.release.entity.Release;
 import com.devwebsite.backend.release.repository.ReleaseRepository;
 import com.devwebsite.backend.user.entity.User;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
+@Timed(value = "app.service", histogram = true)
 public class ReleaseService {
 
     private final ReleaseRepository releaseRepository;
@@ -28,9 +37,50 @@ public class ReleaseService {
     }
 
     @Transactional(readOnly = true)
-    public Page<ReleaseResponse> getReleasesByType(Release.ReleaseType releaseType, Pageable pageable) {
-        return releaseRepository.findAllByReleaseType(releaseType, pageable)
-                .map(ReleaseResponse::from);
+    public Page<ReleaseSummaryResponse> getReleaseSummaries(Pageable pageable) {
+        return releaseRepository.findSummaries(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ReleaseSummaryResponse> getReleaseSummariesByType(Release.ReleaseType releaseType, Pageable pageable) {
+        return releaseRepository.findSummariesByReleaseType(releaseType, pageable);
+    }
+
+    /**
+     * Keyset feed of releases, newest first. {@code after} is {@code null} for the first slice.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ReleaseSummaryResponse> getFeed(Release.ReleaseType releaseType, Cursor after, int limit) {
+        Limit fetch = Limit.of(limit + 1);
+        List<ReleaseSummaryResponse> rows;
+        if (releaseType != null) {
+            rows = after != null
+                    ? releaseRepository.findFeedByReleaseTypeAfter(releaseType, after.timestamp(), after.id(), fetch)
+                    : releaseRepository.findFeedByReleaseType(releaseType, fetch);
+        } else {
+            rows = after != null
+                    ? releaseRepository.findFeedAfter(after.timestamp(), after.id(), fetch)
+                    : releaseRepository.findFeed(fetch);
+        }
+
+        return CursorPage.of(rows, limit, r -> new Cursor(r.releasedAt(), r.id()));
+    }
+
+    /**
+     * Version of the release listing, optionally narrowed to a type, answered by an aggregate query.
+     */
+    @Transactional(readOnly = true)
+    public ContentVersion getReleasesVersion(Release.ReleaseType releaseType) {
+        return releaseType != null
+                ? releaseRepository.findVersionByReleaseType(releaseType)
+                : releaseRepository.findVersion();
+    }
+
+    @Transactional(readOnly = true)
+    public ContentVersion getReleaseVersion(Long id) {
+        return releaseRepository.findUpdatedAtById(id)
+                .map(ContentVersion::of)
+                .orElseThrow(() -> new ResourceNotFoundException("Release not found"));
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,52 @@
+package com.devwebsite.backend.search.controller;
+
+import com.devwebsite.backend.common.web.CursorPage;
+import com.devwebsite.backend.search.dto.SearchCursor;
+import com.devwebsite.backend.search.dto.SearchResultResponse;
+import com.devwebsite.backend.search.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@Tag(name = "Search", description = "Full-text search across announcements and releases")
+public class SearchController {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Search published announcements and releases",
+            description = "Results are ordered by relevance. Supports \"quoted phrases\", or, and -excluded terms.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search results retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Blank or too long query, or invalid cursor")
+    })
+    public ResponseEntity<CursorPage<SearchResultResponse>> search(
+            @Parameter(description = "Search terms")
+            @RequestParam String q,
+            @Parameter(description = "Cursor returned as nextCursor by the previous call")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of results (1-50)")
+            @RequestParam(defaultValue = "10") int limit) {
+
+        CursorPage<SearchResultResponse> results = searchService.search(
+                q,
+                after != null ? SearchCursor.decode(after) : null,
+                Math.clamp(limit, 1, MAX_LIMIT));
+        return ResponseEntity.ok(results);
+    }
+}
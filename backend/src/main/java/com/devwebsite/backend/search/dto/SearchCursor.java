@@ -0,0 +1,44 @@
+package com.devwebsite.backend.search.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in a search result list: the rank, type and id of the last hit a client has seen.
+ * Results are ordered by (rank, type, id) descending, which is total, so the position is exact.
+ */
+public record SearchCursor(
+        float rank,
+        SearchResultType type,
+        Long id
+) {
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        // Float.toString round-trips exactly, so the rank compares equal to the stored real
+        String raw = Float.toString(rank) + SEPARATOR + type.name() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static SearchCursor decode(String encoded) {
+        String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+        String[] parts = raw.split("\\|", -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        try {
+            return new SearchCursor(
+                    Float.parseFloat(parts[0]),
+                    SearchResultType.valueOf(parts[1]),
+                    Long.parseLong(parts[2])
+            );
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.devwebsite.backend.search.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One search hit. {@code snippet} is an excerpt of the content with matched terms wrapped in
+ * {@code <mark>}; {@code rank} is the relevance the results are ordered by.
+ */
+public record SearchResultResponse(
+        SearchResultType type,
+        Long id,
+        String title,
+        String snippet,
+        LocalDateTime publishedAt,
+        float rank
+) {
+    public SearchCursor cursor() {
+        return new SearchCursor(rank, type, id);
+    }
+}
@@ -0,0 +1,6 @@
+package com.devwebsite.backend.search.dto;
+
+public enum SearchResultType {
+    ANNOUNCEMENT,
+    RELEASE
+}
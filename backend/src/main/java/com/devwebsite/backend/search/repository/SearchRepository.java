@@ -0,0 +1,108 @@
+package com.devwebsite.backend.search.repository;
+
+import com.devwebsite.backend.search.dto.SearchCursor;
+import com.devwebsite.backend.search.dto.SearchResultResponse;
+import com.devwebsite.backend.search.dto.SearchResultType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Full-text search over published announcements and releases, backed by the GIN-indexed
+ * {@code search_vector} columns (see V12).
+ * Ranking is bounded: of the documents that match, only the newest {@code candidatesPerSource} per source
+ * are ranked, so a common term costs the same as a rare one. Results are therefore the best matches among
+ * recent documents, not across the whole corpus. Content is fetched and highlighted for the returned page
+ * alone, since {@code ts_headline} is by far the most expensive step.
+ */
+@Repository
+public class SearchRepository {
+
+    private static final String HEADLINE_OPTIONS =
+            "StartSel=<mark>, StopSel=</mark>, MaxWords=35, MinWords=15, MaxFragments=2, FragmentDelimiter=\" … \"";
+
+    private static final String SEARCH_SQL = """
+            WITH q AS (
+                SELECT websearch_to_tsquery('simple', :query) AS query
+            ),
+            announcement_candidates AS (
+                SELECT a.id, a.title, a.published_at, a.search_vector
+                FROM announcements a, q
+                WHERE a.published = true AND a.search_vector @@ q.query
+                ORDER BY a.published_at DESC, a.id DESC
+                LIMIT :candidates
+            ),
+            release_candidates AS (
+                SELECT r.id, r.title, r.released_at, r.search_vector
+                FROM releases r, q
+                WHERE r.search_vector @@ q.query
+                ORDER BY r.released_at DESC, r.id DESC
+                LIMIT :candidates
+            ),
+            hits AS (
+                SELECT 'ANNOUNCEMENT' AS type, c.id, c.title, c.published_at, ts_rank(c.search_vector, q.query) AS rank
+                FROM announcement_candidates c, q
+                UNION ALL
+                SELECT 'RELEASE', c.id, c.title, c.released_at, ts_rank(c.search_vector, q.query)
+                FROM release_candidates c, q
+            ),
+            page AS (
+                SELECT * FROM hits
+                %s
+                ORDER BY rank DESC, type DESC, id DESC
+                LIMIT :limit
+            )
+            SELECT p.type, p.id, p.title, p.published_at, p.rank,
+                   ts_headline('simple', coalesce(a.content, r.content), q.query, :headlineOptions) AS snippet
+            FROM page p
+            CROSS JOIN q
+            LEFT JOIN announcements a ON p.type = 'ANNOUNCEMENT' AND a.id = p.id
+            LEFT JOIN releases r ON p.type = 'RELEASE' AND r.id = p.id
+            ORDER BY p.rank DESC, p.type DESC, p.id DESC
+            """;
+
+    private static final String AFTER_CURSOR =
+            "WHERE (rank, type, id) < (CAST(:afterRank AS real), :afterType, :afterId)";
+
+    private final JdbcClient jdbcClient;
+    private final int candidatesPerSource;
+
+    public SearchRepository(
+            JdbcClient jdbcClient,
+            @Value("${app.search.candidates-per-source:1000}") int candidatesPerSource) {
+        this.jdbcClient = jdbcClient;
+        this.candidatesPerSource = candidatesPerSource;
+    }
+
+    /**
+     * Returns up to {@code limit} hits for a web-search style query ({@code "quoted phrases"}, {@code or},
+     * {@code -excluded}), best first, starting after {@code after} when given.
+     */
+    public List<SearchResultResponse> search(String query, SearchCursor after, int limit) {
+        JdbcClient.StatementSpec statement = jdbcClient
+                .sql(SEARCH_SQL.formatted(after != null ? AFTER_CURSOR : ""))
+                .param("query", query)
+                .param("candidates", candidatesPerSource)
+                .param("headlineOptions", HEADLINE_OPTIONS)
+                .param("limit", limit);
+        if (after != null) {
+            statement = statement
+                    .param("afterRank", after.rank())
+                    .param("afterType", after.type().name())
+                    .param("afterId", after.id());
+        }
+
+        return statement
+                .query((rs, rowNum) -> new SearchResultResponse(
+                        SearchResultType.valueOf(rs.getString("type")),
+                        rs.getLong("id"),
+                        rs.getString("title"),
+                        rs.getString("snippet"),
+                        rs.getObject("published_at", LocalDateTime.class),
+                        rs.getFloat("rank")))
+                .list();
+    }
+}
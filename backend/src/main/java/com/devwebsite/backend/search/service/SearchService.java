@@ -0,0 +1,35 @@
+package com.devwebsite.backend.search.service;
+
+import com.devwebsite.backend.common.web.CursorPage;
+import com.devwebsite.backend.search.dto.SearchCursor;
+import com.devwebsite.backend.search.dto.SearchResultResponse;
+import com.devwebsite.backend.search.repository.SearchRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class SearchService {
+
+    public static final int MAX_QUERY_LENGTH = 200;
+
+    private final SearchRepository searchRepository;
+
+    public SearchService(SearchRepository searchRepository) {
+        this.searchRepository = searchRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<SearchResultResponse> search(String query, SearchCursor after, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+
+        List<SearchResultResponse> rows = searchRepository.search(query.strip(), after, limit + 1);
+        return CursorPage.ofEncoded(rows, limit, row -> row.cursor().encode());
+    }
+}
@@ -0,0 +1,7 @@
+package com.devwebsite.backend.user.dto;
+
+public record UserTokenVersion(
+        Long userId,
+        int tokenVersion
+) {
+}
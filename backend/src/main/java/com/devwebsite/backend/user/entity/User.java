@@ -35,6 +35,9 @@ public class User implements UserDetails {
     @Column(nullable = false, length = 20)
     private String role;
 
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -49,6 +52,20 @@ public class User implements UserDetails {
         this.role = role != null ? role : "ROLE_USER";
     }
 
+    /**
+     * Builds a detached user from verified access token claims.
+     * It carries no password and is only used as an authenticated principal or as an id reference.
+     */
+    public static User reference(Long id, String email, String nickname, String role, int tokenVersion) {
+        User user = new User();
+        user.id = id;
+        user.email = email;
+        user.nickname = nickname;
+        user.role = role;
+        user.tokenVersion = tokenVersion;
+        return user;
+    }
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -68,6 +85,13 @@ public class User implements UserDetails {
         this.password = encodedPassword;
     }
 
+    /**
+     * Invalidates every access token issued before this call.
+     */
+    public void incrementTokenVersion() {
+        this.tokenVersion++;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority(this.role));
@@ -1,9 +1,14 @@
 package com.devwebsite.backend.user.repository;
 
+import com.devwebsite.backend.user.dto.UserTokenVersion;
 import com.devwebsite.backend.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,5 +16,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
-    boolean existsByEmail(String email);
+    @Query("SELECT new com.devwebsite.backend.user.dto.UserTokenVersion(u.id, u.tokenVersion) " +
+            "FROM User u WHERE u.tokenVersion > 0 AND u.updatedAt > :since")
+    List<UserTokenVersion> findTokenVersionsUpdatedSince(@Param("since") LocalDateTime since);
 }
@@ -1,5 +1,6 @@
 package com.devwebsite.backend.user.service;
 
+import com.devwebsite.backend.auth.cache.PrincipalCache;
 import com.devwebsite.backend.common.exception.ResourceNotFoundException;
 import com.devwebsite.backend.user.dto.UpdateUserRequest;
 import com.devwebsite.backend.user.dto.UserResponse;
@@ -14,10 +15,12 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, PrincipalCache principalCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.principalCache = principalCache;
     }
 
     @Transactional(readOnly = true)
@@ -40,6 +43,8 @@ public class UserService {
             user.updatePassword(passwordEncoder.encode(request.password()));
         }
 
+        principalCache.invalidate(user.getEmail());
+
         return UserResponse.from(user);
     }
 }
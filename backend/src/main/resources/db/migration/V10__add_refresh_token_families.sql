@@ -0,0 +1,27 @@
+-- V10__add_refresh_token_families.sql
+-- Group rotated refresh tokens into families so a whole session can be revoked with one UPDATE,
+-- and record when a token was revoked for the concurrent-refresh grace window
+
+ALTER TABLE refresh_tokens ADD COLUMN family_id UUID;
+ALTER TABLE refresh_tokens ADD COLUMN revoked_at TIMESTAMP;
+
+-- Existing chains: every token joins the family of the chain root (the token nothing replaced)
+WITH RECURSIVE chain AS (
+    SELECT t.id, t.replaced_by_id, t.id AS root_id
+    FROM refresh_tokens t
+    WHERE NOT EXISTS (SELECT 1 FROM refresh_tokens p WHERE p.replaced_by_id = t.id)
+    UNION ALL
+    SELECT n.id, n.replaced_by_id, c.root_id
+    FROM chain c
+    JOIN refresh_tokens n ON n.id = c.replaced_by_id
+)
+UPDATE refresh_tokens t
+SET family_id = md5('refresh-token-family-' || chain.root_id)::uuid
+FROM chain
+WHERE t.id = chain.id;
+
+UPDATE refresh_tokens SET revoked_at = created_at WHERE revoked;
+
+ALTER TABLE refresh_tokens ALTER COLUMN family_id SET NOT NULL;
+
+CREATE INDEX idx_refresh_tokens_family_id ON refresh_tokens(family_id);
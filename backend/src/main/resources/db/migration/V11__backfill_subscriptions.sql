@@ -0,0 +1,10 @@
+-- V11__backfill_subscriptions.sql
+-- Subscriptions are now created at registration instead of on the first GET /subscription,
+-- so give every existing account without one the free plan
+
+INSERT INTO subscriptions (user_id, plan_id, status, started_at, created_at, updated_at)
+SELECT u.id, p.id, 'ACTIVE', now(), now(), now()
+FROM users u
+CROSS JOIN plans p
+WHERE p.name = 'free'
+ON CONFLICT (user_id) DO NOTHING;
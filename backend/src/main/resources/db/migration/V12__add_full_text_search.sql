@@ -0,0 +1,19 @@
+-- V12__add_full_text_search.sql
+-- Full-text search over announcements and releases.
+-- Stored generated tsvector columns are recomputed by PostgreSQL on every insert/update of the row,
+-- so the GIN indexes are maintained incrementally and no application code or trigger is involved.
+-- The 'simple' configuration does no stemming, which keeps Korean and mixed-language text searchable.
+
+ALTER TABLE announcements ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(content, '')), 'B')
+) STORED;
+
+ALTER TABLE releases ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(version, '') || ' ' || coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(content, '')), 'B')
+) STORED;
+
+-- Only published announcements are searchable
+CREATE INDEX idx_announcements_search ON announcements USING GIN (search_vector) WHERE published = true;
+CREATE INDEX idx_releases_search ON releases USING GIN (search_vector);
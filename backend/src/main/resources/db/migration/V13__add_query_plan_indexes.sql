@@ -0,0 +1,29 @@
+-- V13__add_query_plan_indexes.sql
+-- Indexes for the repository queries that still scanned, found by QueryPlanTest (./gradlew planCheck),
+-- and removal of indexes that duplicate a unique constraint or can never be chosen
+
+-- TokenVersionRegistry startup load: only users whose tokens were ever revoked
+CREATE INDEX idx_users_revoked_updated_at ON users(updated_at) WHERE token_version > 0;
+
+-- Version queries behind conditional GETs: MAX(updated_at) and COUNT(id) become index-only scans
+CREATE INDEX idx_announcements_published_version ON announcements(category, updated_at) INCLUDE (id) WHERE published = true;
+CREATE INDEX idx_releases_version_by_type ON releases(release_type, updated_at) INCLUDE (id);
+
+-- Admin announcement list
+CREATE INDEX idx_announcements_created_at ON announcements(created_at DESC);
+
+-- API key list per user, newest first
+DROP INDEX idx_api_keys_user_id;
+CREATE INDEX idx_api_keys_user_created_at ON api_keys(user_id, created_at DESC);
+
+-- Only unrevoked tokens are touched by logout-all and family revocation
+CREATE INDEX idx_refresh_tokens_user_active ON refresh_tokens(user_id) WHERE revoked = false;
+CREATE INDEX idx_refresh_tokens_family_active ON refresh_tokens(family_id) WHERE revoked = false;
+DROP INDEX idx_refresh_tokens_family_id;
+
+-- Covered by the UNIQUE constraints on users.email and subscriptions.user_id
+DROP INDEX idx_users_email;
+DROP INDEX idx_subscriptions_user_id;
+
+-- A boolean with two values is never selective; the partial feed indexes serve published listings
+DROP INDEX idx_announcements_published;
@@ -0,0 +1,12 @@
+-- V14__add_refresh_tokens_default_partition.sql
+-- Catch-all partition for refresh_tokens. Without it, a token expiring past the last weekly partition
+-- (maintenance fell behind, or the refresh window grew) fails the insert and with it the login.
+-- RefreshTokenPartitionManager moves such rows into the weekly partition when it creates it,
+-- and deletes expired ones.
+--
+-- token_hash is NOT globally unique. A unique index on a partitioned table must contain the partition key,
+-- so uk_refresh_tokens_token_hash (V9) only enforces (token_hash, expires_at). Uniqueness holds by
+-- construction instead: every refresh token carries a random jti, so distinct tokens never share a SHA-256.
+-- The findByTokenHash* lookups expect one row and fail rather than pick one if two ever matched.
+
+CREATE TABLE refresh_tokens_default PARTITION OF refresh_tokens DEFAULT;
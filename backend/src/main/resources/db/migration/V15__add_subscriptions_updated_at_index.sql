@@ -0,0 +1,3 @@
+-- V15__add_subscriptions_updated_at_index.sql
+-- SubscriptionCacheSync polls every few seconds for subscriptions changed since its last poll
+CREATE INDEX idx_subscriptions_updated_at ON subscriptions(updated_at);
@@ -0,0 +1,4 @@
+-- V4__add_users_token_version.sql
+-- Per-user access token version; bumping it revokes every access token issued before
+
+ALTER TABLE users ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,13 @@
+-- V5__create_rate_limit_buckets.sql
+-- Shared token buckets for the jdbc rate limiter backend, and per-plan request limits
+
+-- Bucket state is disposable, so skip WAL
+CREATE UNLOGGED TABLE rate_limit_buckets (
+    bucket_key VARCHAR(100) PRIMARY KEY,
+    tat BIGINT NOT NULL
+);
+
+-- -1 means unlimited, matching the other plan features
+UPDATE plans SET features = COALESCE(features, '{}'::jsonb) || '{"requests_per_minute": 60}'::jsonb WHERE name = 'free';
+UPDATE plans SET features = COALESCE(features, '{}'::jsonb) || '{"requests_per_minute": 600}'::jsonb WHERE name = 'pro';
+UPDATE plans SET features = COALESCE(features, '{}'::jsonb) || '{"requests_per_minute": -1}'::jsonb WHERE name = 'team';
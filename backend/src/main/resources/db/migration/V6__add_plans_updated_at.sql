@@ -0,0 +1,4 @@
+-- V6__add_plans_updated_at.sql
+-- Track plan modifications so the public plan endpoints can answer conditional GETs
+
+ALTER TABLE plans ADD COLUMN updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
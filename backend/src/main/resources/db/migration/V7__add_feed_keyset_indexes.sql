@@ -0,0 +1,12 @@
+-- V7__add_feed_keyset_indexes.sql
+-- Composite (timestamp, id) indexes so the cursor feeds seek instead of scanning past an offset
+
+-- Announcements: only published rows are ever listed publicly
+DROP INDEX IF EXISTS idx_announcements_published_at;
+CREATE INDEX idx_announcements_published_feed ON announcements(published_at DESC, id DESC) WHERE published = true;
+CREATE INDEX idx_announcements_category_feed ON announcements(category, published_at DESC, id DESC) WHERE published = true;
+
+-- Releases
+DROP INDEX IF EXISTS idx_releases_released_at;
+CREATE INDEX idx_releases_feed ON releases(released_at DESC, id DESC);
+CREATE INDEX idx_releases_type_feed ON releases(release_type, released_at DESC, id DESC);
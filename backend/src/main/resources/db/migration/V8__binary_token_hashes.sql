@@ -0,0 +1,21 @@
+-- V8__binary_token_hashes.sql
+-- Store SHA-256 token hashes as raw 32-byte BYTEA instead of 64-char hex, behind unique indexes
+
+-- Refresh tokens issued in the same second used to be identical JWTs, so keep only the newest row per hash
+UPDATE refresh_tokens SET replaced_by_id = NULL
+WHERE replaced_by_id IN (
+    SELECT a.id FROM refresh_tokens a
+    JOIN refresh_tokens b ON a.token_hash = b.token_hash AND a.id < b.id
+);
+DELETE FROM refresh_tokens a USING refresh_tokens b
+WHERE a.token_hash = b.token_hash AND a.id < b.id;
+
+DROP INDEX idx_refresh_tokens_token_hash;
+ALTER TABLE refresh_tokens ALTER COLUMN token_hash TYPE BYTEA USING decode(token_hash, 'hex');
+ALTER TABLE refresh_tokens ADD CONSTRAINT chk_refresh_tokens_token_hash_length CHECK (octet_length(token_hash) = 32);
+CREATE UNIQUE INDEX uk_refresh_tokens_token_hash ON refresh_tokens(token_hash);
+
+DROP INDEX idx_api_keys_key_hash;
+ALTER TABLE api_keys ALTER COLUMN key_hash TYPE BYTEA USING decode(key_hash, 'hex');
+ALTER TABLE api_keys ADD CONSTRAINT chk_api_keys_key_hash_length CHECK (octet_length(key_hash) = 32);
+CREATE UNIQUE INDEX uk_api_keys_key_hash ON api_keys(key_hash);
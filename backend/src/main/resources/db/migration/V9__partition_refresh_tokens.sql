@@ -0,0 +1,49 @@
+-- V9__partition_refresh_tokens.sql
+-- Range-partition refresh_tokens by expires_at into weekly partitions.
+-- A partition whose upper bound has passed holds only expired tokens and is dropped whole
+-- by RefreshTokenPartitionManager, which also creates partitions ahead of time.
+
+ALTER TABLE refresh_tokens RENAME TO refresh_tokens_legacy;
+ALTER TABLE refresh_tokens_legacy RENAME CONSTRAINT refresh_tokens_pkey TO refresh_tokens_legacy_pkey;
+DROP INDEX idx_refresh_tokens_user_id;
+DROP INDEX uk_refresh_tokens_token_hash;
+
+-- The partition key must be part of every unique constraint, so the primary key becomes (id, expires_at)
+-- and the self-reference replaced_by_id can no longer be a foreign key.
+CREATE TABLE refresh_tokens (
+    id BIGINT NOT NULL DEFAULT nextval('refresh_tokens_id_seq'),
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    token_hash BYTEA NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    revoked BOOLEAN NOT NULL DEFAULT FALSE,
+    replaced_by_id BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT refresh_tokens_pkey PRIMARY KEY (id, expires_at),
+    CONSTRAINT chk_refresh_tokens_token_hash_length CHECK (octet_length(token_hash) = 32)
+) PARTITION BY RANGE (expires_at);
+
+ALTER SEQUENCE refresh_tokens_id_seq OWNED BY refresh_tokens.id;
+
+CREATE INDEX idx_refresh_tokens_user_id ON refresh_tokens(user_id);
+CREATE UNIQUE INDEX uk_refresh_tokens_token_hash ON refresh_tokens(token_hash, expires_at);
+
+-- Weekly partitions (Monday to Monday) from this week through the refresh window plus a margin
+DO $$
+DECLARE
+    week_start DATE := date_trunc('week', now())::date;
+BEGIN
+    WHILE week_start < (now() + INTERVAL '6 weeks')::date LOOP
+        EXECUTE format(
+            'CREATE TABLE refresh_tokens_p%s PARTITION OF refresh_tokens FOR VALUES FROM (%L) TO (%L)',
+            to_char(week_start, 'YYYYMMDD'), week_start, week_start + 7);
+        week_start := week_start + 7;
+    END LOOP;
+END $$;
+
+-- Expired tokens are dead, so only unexpired rows are carried over
+INSERT INTO refresh_tokens (id, user_id, token_hash, expires_at, revoked, replaced_by_id, created_at)
+SELECT id, user_id, token_hash, expires_at, revoked, replaced_by_id, created_at
+FROM refresh_tokens_legacy
+WHERE expires_at > now();
+
+DROP TABLE refresh_tokens_legacy;
@@ -0,0 +1,346 @@
+package com.devwebsite.backend;
+
+import com.devwebsite.backend.announcement.repository.AnnouncementRepository;
+import com.devwebsite.backend.apikey.repository.ApiKeyRepository;
+import com.devwebsite.backend.auth.repository.RefreshTokenRepository;
+import com.devwebsite.backend.billing.repository.PlanRepository;
+import com.devwebsite.backend.billing.repository.SubscriptionRepository;
+import com.devwebsite.backend.release.entity.Release;
+import com.devwebsite.backend.release.repository.ReleaseRepository;
+import com.devwebsite.backend.search.repository.SearchRepository;
+import com.devwebsite.backend.support.PlanCheckDataset;
+import com.devwebsite.backend.support.QueryPlans;
+import com.devwebsite.backend.support.QueryPlans.QueryPlan;
+import com.devwebsite.backend.user.entity.User;
+import com.devwebsite.backend.user.repository.UserRepository;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query plan regression check over a large synthetic dataset ({@link PlanCheckDataset}). Every repository
+ * query is called through the real repository and its statements are explained as sent, with their bound
+ * parameters ({@link QueryPlans}). A statement fails when its plan contains a Seq Scan on a table other than
+ * the tiny ones (unless it inherently reads the whole table, like a page count) or when it touches more
+ * shared buffers than its budget. Writes are rolled back.
+ * <p>
+ * Runs in the {@code planCheck} task, part of {@code check}, on its own container since loading the data
+ * takes minutes. A repository query without a check here fails the build as well.
+ */
+@Tag("plan-check")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanTest.class);
+
+    // Tables small enough that a sequential scan is the right plan; the default partition stays empty here
+    private static final Set<String> SMALL_TABLES = Set.of("plans", "refresh_tokens_default");
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:17.7");
+
+    static {
+        POSTGRES.start();
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @TestConfiguration
+    static class ExplainingDataSource {
+
+        @Bean
+        static BeanPostProcessor explainingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)
+                            ? QueryPlans.explaining(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private ApplicationContext applicationContext;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ApiKeyRepository apiKeyRepository;
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    private PlanRepository planRepository;
+    @Autowired
+    private AnnouncementRepository announcementRepository;
+    @Autowired
+    private ReleaseRepository releaseRepository;
+    @Autowired
+    private SearchRepository searchRepository;
+
+    private final Map<String, Check> checks = new LinkedHashMap<>();
+    private Sample sample;
+
+    @BeforeAll
+    void loadDataset() {
+        PlanCheckDataset.load(jdbcTemplate, Integer.getInteger("planCheck.scale", 1));
+        sample = sampleParameters();
+        defineChecks();
+    }
+
+    @Test
+    void everyRepositoryQueryHasACheck() {
+        Set<String> queries = new TreeSet<>();
+        Repositories repositories = new Repositories(applicationContext);
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRepositoryInformationFor(domainType).orElseThrow();
+            for (Method method : information.getQueryMethods()) {
+                queries.add(information.getRepositoryInterface().getSimpleName() + "." + method.getName());
+            }
+        }
+        Arrays.stream(SearchRepository.class.getDeclaredMethods())
+                .filter(method -> Modifier.isPublic(method.getModifiers()))
+                .forEach(method -> queries.add("SearchRepository." + method.getName()));
+
+        assertThat(checks.keySet()).containsExactlyInAnyOrderElementsOf(queries);
+    }
+
+    @Test
+    void queryPlansStayWithinBudget() {
+        SoftAssertions softly = new SoftAssertions();
+        checks.forEach((name, check) -> {
+            List<QueryPlan> plans = run(check);
+            softly.assertThat(plans).as("%s statements", name).hasSameSizeAs(check.budgets());
+
+            for (int i = 0; i < Math.min(plans.size(), check.budgets().size()); i++) {
+                QueryPlan plan = plans.get(i);
+                Budget budget = check.budgets().get(i);
+                Set<String> seqScans = plan.seqScans();
+                seqScans.removeAll(SMALL_TABLES);
+                log.info("{} #{}: {} ms, {} / {} buffers, seq scans {}",
+                        name, i + 1, plan.executionMillis(), plan.buffers(), budget.maxBuffers(), seqScans);
+
+                softly.assertThat(plan.buffers())
+                        .as("%s #%d buffers%n%s", name, i + 1, plan.sql())
+                        .isLessThanOrEqualTo(budget.maxBuffers());
+                if (!budget.seqScanAllowed()) {
+                    softly.assertThat(seqScans)
+                            .as("%s #%d seq scans%n%s", name, i + 1, plan.sql())
+                            .isEmpty();
+                }
+            }
+        });
+        softly.assertAll();
+    }
+
+    private void defineChecks() {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest firstPage = PageRequest.of(0, 20);
+        Limit feedPage = Limit.of(21);
+
+        // users
+        check("UserRepository.findByEmail", user -> userRepository.findByEmail(sample.email()), within(16));
+        check("UserRepository.findTokenVersionsUpdatedSince",
+                user -> userRepository.findTokenVersionsUpdatedSince(now.minusMinutes(15)), within(64));
+
+        // api_keys
+        check("ApiKeyRepository.findAllByUserOrderByCreatedAtDesc",
+                user -> apiKeyRepository.findAllByUserOrderByCreatedAtDesc(user), within(32));
+        check("ApiKeyRepository.findByIdAndUser",
+                user -> apiKeyRepository.findByIdAndUser(sample.apiKeyId(), user), within(16));
+        check("ApiKeyRepository.findByKeyHash", user -> apiKeyRepository.findByKeyHash(sample.apiKeyHash()), within(16));
+        check("ApiKeyRepository.findByKeyHashWithUser",
+                user -> apiKeyRepository.findByKeyHashWithUser(sample.apiKeyHash()), within(16));
+        check("ApiKeyRepository.countByUser", user -> apiKeyRepository.countByUser(user), within(16));
+        check("ApiKeyRepository.updateLastUsedAt",
+                user -> apiKeyRepository.updateLastUsedAt(sample.apiKeyId(), now), within(16));
+
+        // subscriptions and plans
+        check("SubscriptionRepository.findByUser", user -> subscriptionRepository.findByUser(user), within(16));
+        check("SubscriptionRepository.findPlanIdByUserId",
+                user -> subscriptionRepository.findPlanIdByUserId(sample.userId()), within(16));
+        check("SubscriptionRepository.findUserIdsUpdatedSince",
+                user -> subscriptionRepository.findUserIdsUpdatedSince(now.minusSeconds(35)), within(16));
+        check("SubscriptionRepository.insertIfAbsent",
+                user -> subscriptionRepository.insertIfAbsent(sample.userId(), sample.freePlanId()), within(32));
+        check("PlanRepository.findAllByOrderByPriceMonthlyAsc", user -> planRepository.findAllByOrderByPriceMonthlyAsc(),
+                within(16));
+        check("PlanRepository.findVersion", user -> planRepository.findVersion(), within(16));
+
+        // refresh_tokens: one index probe per weekly partition
+        check("RefreshTokenRepository.findByTokenHash",
+                user -> refreshTokenRepository.findByTokenHash(sample.tokenHash()), within(64));
+        check("RefreshTokenRepository.findByTokenHashForUpdate",
+                user -> refreshTokenRepository.findByTokenHashForUpdate(sample.tokenHash()), within(64));
+        check("RefreshTokenRepository.revokeFamily",
+                user -> refreshTokenRepository.revokeFamily(sample.familyId(), now), within(128));
+        check("RefreshTokenRepository.revokeAllByUser",
+                user -> refreshTokenRepository.revokeAllByUser(user, now), within(128));
+
+        // announcements: pages run the page query, then the count
+        check("AnnouncementRepository.findPublishedSummaries",
+                user -> announcementRepository.findPublishedSummaries(firstPage), within(256), scanning(20000));
+        check("AnnouncementRepository.findPublishedSummariesByCategory",
+                user -> announcementRepository.findPublishedSummariesByCategory("security", firstPage),
+                within(256), scanning(5000));
+        check("AnnouncementRepository.findByIdAndPublishedTrue",
+                user -> announcementRepository.findByIdAndPublishedTrue(sample.announcementId()), within(16));
+        check("AnnouncementRepository.findPublishedFeed",
+                user -> announcementRepository.findPublishedFeed(feedPage), within(256));
+        check("AnnouncementRepository.findPublishedFeedAfter",
+                user -> announcementRepository.findPublishedFeedAfter(sample.announcementPublishedAt(),
+                        sample.announcementId(), feedPage), within(256));
+        check("AnnouncementRepository.findPublishedFeedByCategory",
+                user -> announcementRepository.findPublishedFeedByCategory("security", feedPage), within(256));
+        check("AnnouncementRepository.findPublishedFeedByCategoryAfter",
+                user -> announcementRepository.findPublishedFeedByCategoryAfter("security",
+                        sample.announcementPublishedAt(), sample.announcementId(), feedPage), within(256));
+        check("AnnouncementRepository.findPublishedVersion",
+                user -> announcementRepository.findPublishedVersion(), within(20000));
+        check("AnnouncementRepository.findPublishedVersionByCategory",
+                user -> announcementRepository.findPublishedVersionByCategory("security"), within(5000));
+        check("AnnouncementRepository.findAllWithAuthor",
+                user -> announcementRepository.findAllWithAuthor(firstPage), within(256), scanning(20000));
+        check("AnnouncementRepository.findByIdWithAuthor",
+                user -> announcementRepository.findByIdWithAuthor(sample.announcementId()), within(16));
+
+        // releases
+        check("ReleaseRepository.findAllWithAuthor",
+                user -> releaseRepository.findAllWithAuthor(firstPage), within(256), scanning(5000));
+        check("ReleaseRepository.findByIdWithAuthor",
+                user -> releaseRepository.findByIdWithAuthor(sample.releaseId()), within(16));
+        check("ReleaseRepository.findSummaries",
+                user -> releaseRepository.findSummaries(firstPage), within(256), scanning(5000));
+        check("ReleaseRepository.findSummariesByReleaseType",
+                user -> releaseRepository.findSummariesByReleaseType(Release.ReleaseType.HOTFIX, firstPage),
+                within(256), scanning(2000));
+        check("ReleaseRepository.existsByVersion", user -> releaseRepository.existsByVersion("v1.2.3"), within(16));
+        check("ReleaseRepository.findFeed", user -> releaseRepository.findFeed(feedPage), within(256));
+        check("ReleaseRepository.findFeedAfter",
+                user -> releaseRepository.findFeedAfter(sample.releaseReleasedAt(), sample.releaseId(), feedPage),
+                within(256));
+        check("ReleaseRepository.findFeedByReleaseType",
+                user -> releaseRepository.findFeedByReleaseType(Release.ReleaseType.HOTFIX, feedPage), within(256));
+        check("ReleaseRepository.findFeedByReleaseTypeAfter",
+                user -> releaseRepository.findFeedByReleaseTypeAfter(Release.ReleaseType.HOTFIX,
+                        sample.releaseReleasedAt(), sample.releaseId(), feedPage), within(256));
+        check("ReleaseRepository.findVersion", user -> releaseRepository.findVersion(), within(5000));
+        check("ReleaseRepository.findVersionByReleaseType",
+                user -> releaseRepository.findVersionByReleaseType(Release.ReleaseType.HOTFIX), within(2000));
+        check("ReleaseRepository.findUpdatedAtById",
+                user -> releaseRepository.findUpdatedAtById(sample.releaseId()), within(16));
+
+        // search: a rare term (one document in ten thousand) must not rank the whole corpus
+        check("SearchRepository.search", user -> searchRepository.search("kubernetes", null, 11), within(4000));
+    }
+
+    private void check(String name, Consumer<User> query, Budget... budgets) {
+        checks.put(name, new Check(query, List.of(budgets)));
+    }
+
+    /**
+     * Runs the query in a transaction that is rolled back, with the sample user as an uninitialized reference.
+     */
+    private List<QueryPlan> run(Check check) {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            User user = userRepository.getReferenceById(sample.userId());
+            return QueryPlans.capture(() -> check.query().accept(user));
+        });
+    }
+
+    private Sample sampleParameters() {
+        String email = "user4242@example.test";
+        long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+        Map<String, Object> apiKey = jdbcTemplate.queryForMap(
+                "SELECT id, key_hash FROM api_keys WHERE user_id = ? LIMIT 1", userId);
+        Map<String, Object> token = jdbcTemplate.queryForMap(
+                "SELECT token_hash, family_id FROM refresh_tokens WHERE user_id = ? LIMIT 1", userId);
+        Map<String, Object> announcement = jdbcTemplate.queryForMap(
+                "SELECT id, published_at FROM announcements WHERE published " +
+                        "ORDER BY published_at DESC, id DESC OFFSET 1000 LIMIT 1");
+        Map<String, Object> release = jdbcTemplate.queryForMap(
+                "SELECT id, released_at FROM releases ORDER BY released_at DESC, id DESC OFFSET 1000 LIMIT 1");
+        long freePlanId = jdbcTemplate.queryForObject("SELECT id FROM plans WHERE name = 'free'", Long.class);
+
+        return new Sample(email, userId, freePlanId,
+                ((Number) apiKey.get("id")).longValue(), (byte[]) apiKey.get("key_hash"),
+                (byte[]) token.get("token_hash"), (UUID) token.get("family_id"),
+                ((Number) announcement.get("id")).longValue(),
+                ((Timestamp) announcement.get("published_at")).toLocalDateTime(),
+                ((Number) release.get("id")).longValue(),
+                ((Timestamp) release.get("released_at")).toLocalDateTime());
+    }
+
+    private static Budget within(long maxBuffers) {
+        return new Budget(maxBuffers, false);
+    }
+
+    /**
+     * A budget for a statement that inherently reads the whole table or a large share of it.
+     */
+    private static Budget scanning(long maxBuffers) {
+        return new Budget(maxBuffers, true);
+    }
+
+    private record Budget(long maxBuffers, boolean seqScanAllowed) {
+    }
+
+    private record Check(Consumer<User> query, List<Budget> budgets) {
+    }
+
+    private record Sample(String email, long userId, long freePlanId, long apiKeyId, byte[] apiKeyHash,
+                          byte[] tokenHash, UUID familyId, long announcementId, LocalDateTime announcementPublishedAt,
+                          long releaseId, LocalDateTime releaseReleasedAt) {
+    }
+}
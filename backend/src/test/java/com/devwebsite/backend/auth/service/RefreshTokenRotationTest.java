@@ -0,0 +1,130 @@
+package com.devwebsite.backend.auth.service;
+
+import com.devwebsite.backend.common.security.TokenHasher;
+import com.devwebsite.backend.support.IntegrationTest;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Reuse detection in {@link AuthService#refreshWithRotation}: a rotated token presented again within the grace
+ * period is a parallel refresh and gets an access token only; presented later it is a replay and revokes its
+ * whole family, and that revocation commits although the request fails.
+ */
+class RefreshTokenRotationTest extends IntegrationTest {
+
+    private static final String REFRESH_COOKIE = "refreshToken";
+    private static final String ORIGIN = "http://localhost:3000";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rotationIssuesNewRefreshToken() throws Exception {
+        String first = registerForRefreshToken();
+
+        MvcResult result = refresh(first).andExpect(status().isOk()).andReturn();
+
+        String second = refreshCookie(result);
+        assertThat(second).isNotNull().isNotEqualTo(first);
+        assertThat(accessToken(result)).isNotBlank();
+        assertThat(isRevoked(first)).isTrue();
+        assertThat(isRevoked(second)).isFalse();
+    }
+
+    @Test
+    void reuseWithinGracePeriodYieldsAccessTokenOnly() throws Exception {
+        String first = registerForRefreshToken();
+        String second = refreshCookie(refresh(first).andExpect(status().isOk()).andReturn());
+
+        MvcResult reused = refresh(first).andExpect(status().isOk()).andReturn();
+
+        assertThat(accessToken(reused)).isNotBlank();
+        assertThat(refreshCookie(reused)).as("refresh cookie of the grace response").isNull();
+        assertThat(isRevoked(second)).isFalse();
+        refresh(second).andExpect(status().isOk());
+    }
+
+    @Test
+    void reuseAfterGracePeriodRevokesWholeFamily() throws Exception {
+        String first = registerForRefreshToken();
+        String second = refreshCookie(refresh(first).andExpect(status().isOk()).andReturn());
+        rotatedLongAgo(first);
+
+        refresh(first).andExpect(status().isNotFound());
+
+        // The request failed, yet the family revocation has committed
+        assertThat(isRevoked(second)).isTrue();
+        assertThat(activeTokensInFamilyOf(first)).isZero();
+        refresh(second).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void reuseWithinGracePeriodAfterFamilyRevokedIsRejected() throws Exception {
+        String first = registerForRefreshToken();
+        String second = refreshCookie(refresh(first).andExpect(status().isOk()).andReturn());
+        String third = refreshCookie(refresh(second).andExpect(status().isOk()).andReturn());
+        rotatedLongAgo(first);
+        refresh(first).andExpect(status().isNotFound());
+
+        // second was rotated moments ago, but its successor is revoked with the family
+        refresh(second).andExpect(status().isNotFound());
+        refresh(third).andExpect(status().isNotFound());
+    }
+
+    private String registerForRefreshToken() throws Exception {
+        String body = jsonMapper.writeValueAsString(new Registration(
+                "rotation-" + UUID.randomUUID() + "@example.test", "test-password", "rotation"));
+        MvcResult result = mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return refreshCookie(result);
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/v1/auth/refresh")
+                .header("Origin", ORIGIN)
+                .cookie(new Cookie(REFRESH_COOKIE, refreshToken)));
+    }
+
+    private String accessToken(MvcResult result) throws Exception {
+        return json(result.getResponse().getContentAsString()).get("accessToken").asString();
+    }
+
+    private static String refreshCookie(MvcResult result) {
+        Cookie cookie = result.getResponse().getCookie(REFRESH_COOKIE);
+        return cookie != null ? cookie.getValue() : null;
+    }
+
+    private void rotatedLongAgo(String refreshToken) {
+        jdbcTemplate.update("UPDATE refresh_tokens SET revoked_at = revoked_at - interval '1 hour' WHERE token_hash = ?",
+                (Object) TokenHasher.hash(refreshToken));
+    }
+
+    private boolean isRevoked(String refreshToken) {
+        return jdbcTemplate.queryForObject("SELECT revoked FROM refresh_tokens WHERE token_hash = ?",
+                Boolean.class, (Object) TokenHasher.hash(refreshToken));
+    }
+
+    private int activeTokensInFamilyOf(String refreshToken) {
+        return jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM refresh_tokens
+                WHERE family_id = (SELECT family_id FROM refresh_tokens WHERE token_hash = ?) AND NOT revoked
+                """, Integer.class, (Object) TokenHasher.hash(refreshToken));
+    }
+
+    private record Registration(String email, String password, String nickname) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.devwebsite.backend.common.config;
+
+import com.devwebsite.backend.announcement.entity.Announcement;
+import com.devwebsite.backend.announcement.repository.AnnouncementRepository;
+import com.devwebsite.backend.support.IntegrationTest;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * With open-in-view off the persistence context closes with the service transaction, so every DTO has to be
+ * mapped inside it. These requests fail on any {@link LazyInitializationException}, whether the handler or the
+ * response serialization hit it.
+ */
+class OpenSessionInViewTest extends IntegrationTest {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private AnnouncementRepository announcementRepository;
+
+    @Test
+    void openInViewIsOff() {
+        assertThat(applicationContext.getBeanNamesForType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+    }
+
+    @Test
+    void lazyAssociationOutsideTransactionThrows() throws Exception {
+        long id = createAnnouncement(adminToken());
+
+        // findById runs in the repository's own transaction; the author proxy is detached afterwards
+        Announcement announcement = announcementRepository.findById(id).orElseThrow();
+        assertThatThrownBy(() -> announcement.getAuthor().getNickname())
+                .isInstanceOf(LazyInitializationException.class);
+    }
+
+    @Test
+    void publicDetailsMapInsideTransactions() throws Exception {
+        String admin = adminToken();
+        long announcementId = createAnnouncement(admin);
+        long releaseId = createRelease(admin);
+
+        // First call is a cache miss that loads and maps the announcement with its author
+        perform(get("/api/v1/announcements/{id}", announcementId));
+        perform(get("/api/v1/announcements/{id}", announcementId));
+        perform(get("/api/v1/releases/{id}", releaseId));
+        perform(get("/api/v1/announcements").param("size", "5"));
+        perform(get("/api/v1/releases").param("size", "5"));
+    }
+
+    @Test
+    void subscriptionMapsInsideTransactions() throws Exception {
+        String user = registerUser();
+
+        perform(get("/api/v1/subscription").header(HttpHeaders.AUTHORIZATION, bearer(user)));
+        MvcResult plans = perform(get("/api/v1/plans"));
+        long planId = json(plans.getResponse().getContentAsString()).get(0).get("id").asLong();
+        perform(post("/api/v1/subscription")
+                .header(HttpHeaders.AUTHORIZATION, bearer(user))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"planId\":" + planId + "}"));
+        perform(get("/api/v1/subscription").header(HttpHeaders.AUTHORIZATION, bearer(user)));
+        perform(get("/api/v1/me").header(HttpHeaders.AUTHORIZATION, bearer(user)));
+        perform(get("/api/v1/api-keys").header(HttpHeaders.AUTHORIZATION, bearer(user)));
+    }
+
+    @Test
+    void adminEndpointsMapInsideTransactions() throws Exception {
+        String admin = adminToken();
+        long announcementId = createAnnouncement(admin);
+        long releaseId = createRelease(admin);
+
+        perform(get("/api/v1/admin/announcements").header(HttpHeaders.AUTHORIZATION, bearer(admin)));
+        perform(get("/api/v1/admin/announcements/{id}", announcementId)
+                .header(HttpHeaders.AUTHORIZATION, bearer(admin)));
+        perform(patch("/api/v1/admin/announcements/{id}", announcementId)
+                .header(HttpHeaders.AUTHORIZATION, bearer(admin))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Lazy loading (edited)\"}"));
+        perform(get("/api/v1/admin/releases").header(HttpHeaders.AUTHORIZATION, bearer(admin)));
+        perform(get("/api/v1/admin/releases/{id}", releaseId)
+                .header(HttpHeaders.AUTHORIZATION, bearer(admin)));
+        perform(patch("/api/v1/admin/releases/{id}", releaseId)
+                .header(HttpHeaders.AUTHORIZATION, bearer(admin))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Lazy loading (edited)\"}"));
+    }
+
+    private long createAnnouncement(String admin) throws Exception {
+        MvcResult result = perform(post("/api/v1/admin/announcements")
+                .header(HttpHeaders.AUTHORIZATION, bearer(admin))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Lazy loading\",\"content\":\"body\",\"category\":\"general\",\"published\":true}"));
+        return json(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private long createRelease(String admin) throws Exception {
+        MvcResult result = perform(post("/api/v1/admin/releases")
+                .header(HttpHeaders.AUTHORIZATION, bearer(admin))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"version\":\"lazy-" + UUID.randomUUID() + "\",\"title\":\"Lazy loading\","
+                        + "\"content\":\"notes\",\"releaseType\":\"PATCH\"}"));
+        return json(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request)
+                .andExpect(noLazyInitialization())
+                .andExpect(status().is2xxSuccessful())
+                .andReturn();
+    }
+
+    private static ResultMatcher noLazyInitialization() {
+        return result -> {
+            for (Throwable cause = result.getResolvedException(); cause != null; cause = cause.getCause()) {
+                assertThat(cause)
+                        .as("%s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                        .isNotInstanceOf(LazyInitializationException.class);
+            }
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.devwebsite.backend.common.filter;
+
+import com.devwebsite.backend.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TraceIdFilterTest extends IntegrationTest {
+
+    private static final String PARENT_TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    @Test
+    void jsonResponseCarriesServerTiming() throws Exception {
+        mockMvc.perform(get("/api/v1/announcements"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(TraceIdFilter.SERVER_TIMING_HEADER, startsWith("total;dur=")))
+                .andExpect(header().string(TraceIdFilter.SERVER_TIMING_HEADER, containsString("db;dur=")));
+    }
+
+    @Test
+    void problemDetailResponseCarriesServerTiming() throws Exception {
+        mockMvc.perform(get("/api/v1/announcements/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound())
+                .andExpect(header().exists(TraceIdFilter.SERVER_TIMING_HEADER));
+    }
+
+    @Test
+    void continuesIncomingTrace() throws Exception {
+        mockMvc.perform(get("/api/v1/plans")
+                        .header(TraceIdFilter.TRACEPARENT_HEADER, "00-" + PARENT_TRACE_ID + "-00f067aa0ba902b7-01"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(TraceIdFilter.TRACE_ID_HEADER, PARENT_TRACE_ID))
+                .andExpect(header().string(TraceIdFilter.TRACEPARENT_HEADER,
+                        matchesPattern("00-" + PARENT_TRACE_ID + "-(?!00f067aa0ba902b7)[0-9a-f]{16}-01")))
+                .andExpect(header().exists(TraceIdFilter.SERVER_TIMING_HEADER));
+    }
+}
@@ -0,0 +1,179 @@
+package com.devwebsite.backend.common.metrics;
+
+import com.devwebsite.backend.support.IntegrationTest;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static com.devwebsite.backend.support.SqlCounts.statements;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exact SQL statement counts of every controller endpoint. A count that changes is either a regression
+ * (an N+1, a lost cache hit) or an intended change to update here together with the code.
+ * <p>
+ * Authenticated calls are measured with the principal already cached, so the counts are the handler's own.
+ * Listings are requested with {@code size=1} so the page is always full and the count query always runs.
+ * {@code JdbcClient} statements (search) bypass Hibernate and count as zero.
+ */
+class EndpointQueryCountTest extends IntegrationTest {
+
+    private static final String ORIGIN = "http://localhost:3000";
+    private static final String REFRESH_TOKEN_COOKIE = "refreshToken";
+
+    private String admin;
+
+    @BeforeEach
+    void warmAdminPrincipal() throws Exception {
+        admin = adminToken();
+        mockMvc.perform(get("/api/v1/me").header(HttpHeaders.AUTHORIZATION, bearer(admin)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void publicAnnouncements() throws Exception {
+        long id = createAnnouncement();
+
+        // Listing version, page and count on a miss; the cache answers afterwards
+        expect(get("/api/v1/announcements").param("size", "1"), 3);
+        expect(get("/api/v1/announcements").param("size", "1"), 0);
+        expect(get("/api/v1/announcements/feed"), 1);
+        expect(get("/api/v1/announcements/{id}", id), 1);
+        expect(get("/api/v1/announcements/{id}", id), 0);
+    }
+
+    @Test
+    void publicReleases() throws Exception {
+        long id = createRelease();
+
+        expect(get("/api/v1/releases").param("size", "1"), 3);
+        expect(get("/api/v1/releases/feed"), 1);
+        // Version for the conditional GET, then the release with its author
+        expect(get("/api/v1/releases/{id}", id), 2);
+    }
+
+    @Test
+    void plansAndSearch() throws Exception {
+        // Plans are served from the in-memory catalog
+        MvcResult plans = expect(get("/api/v1/plans"), 0);
+        long planId = json(plans.getResponse().getContentAsString()).get(0).get("id").asLong();
+        expect(get("/api/v1/plans/{id}", planId), 0);
+        expect(get("/api/v1/search").param("q", "release"), 0);
+    }
+
+    @Test
+    void adminAnnouncements() throws Exception {
+        long id = createAnnouncement();
+
+        expectAsAdmin(get("/api/v1/admin/announcements").param("size", "1"), 2);
+        expectAsAdmin(get("/api/v1/admin/announcements/{id}", id), 1);
+        expectAsAdmin(patch("/api/v1/admin/announcements/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Query count (edited)\"}"), 2);
+        expectAsAdmin(delete("/api/v1/admin/announcements/{id}", id), 2);
+    }
+
+    @Test
+    void adminReleases() throws Exception {
+        long id = createRelease();
+
+        expectAsAdmin(get("/api/v1/admin/releases").param("size", "1"), 2);
+        expectAsAdmin(get("/api/v1/admin/releases/{id}", id), 1);
+        expectAsAdmin(patch("/api/v1/admin/releases/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Query count (edited)\"}"), 2);
+        // Existence check, then deleteById loads the release before removing it
+        expectAsAdmin(delete("/api/v1/admin/releases/{id}", id), 3);
+    }
+
+    @Test
+    void account() throws Exception {
+        String user = registerUser();
+
+        // The first authenticated call also loads the principal
+        expect(get("/api/v1/me").header(HttpHeaders.AUTHORIZATION, bearer(user)), 2);
+        expect(get("/api/v1/me").header(HttpHeaders.AUTHORIZATION, bearer(user)), 1);
+
+        expect(get("/api/v1/subscription").header(HttpHeaders.AUTHORIZATION, bearer(user)), 1);
+        expect(get("/api/v1/subscription").header(HttpHeaders.AUTHORIZATION, bearer(user)), 0);
+        MvcResult plans = expect(get("/api/v1/plans"), 0);
+        long planId = json(plans.getResponse().getContentAsString()).get(0).get("id").asLong();
+        expect(post("/api/v1/subscription")
+                .header(HttpHeaders.AUTHORIZATION, bearer(user))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"planId\":" + planId + "}"), 2);
+        expect(get("/api/v1/subscription").header(HttpHeaders.AUTHORIZATION, bearer(user)), 1);
+
+        expect(get("/api/v1/api-keys").header(HttpHeaders.AUTHORIZATION, bearer(user)), 1);
+        MvcResult created = expect(post("/api/v1/api-keys")
+                .header(HttpHeaders.AUTHORIZATION, bearer(user))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"query-count\"}"), 2);
+        long keyId = json(created.getResponse().getContentAsString()).get("id").asLong();
+        expect(delete("/api/v1/api-keys/{id}", keyId).header(HttpHeaders.AUTHORIZATION, bearer(user)), 2);
+    }
+
+    @Test
+    void authentication() throws Exception {
+        String email = "query-count-" + UUID.randomUUID() + "@example.test";
+        String credentials = "{\"email\":\"" + email + "\",\"password\":\"query-count-password\"";
+
+        // User, free subscription and first refresh token
+        expect(post("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(credentials + ",\"nickname\":\"counter\"}"), 3);
+        MvcResult login = expect(post("/api/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(credentials + "}"), 2);
+
+        // Locked lookup with the user, the successor insert and the rotation update
+        MvcResult refresh = expect(post("/api/v1/auth/refresh")
+                .header(HttpHeaders.ORIGIN, ORIGIN)
+                .cookie(login.getResponse().getCookie(REFRESH_TOKEN_COOKIE)), 3);
+        Cookie rotated = refresh.getResponse().getCookie(REFRESH_TOKEN_COOKIE);
+        expect(post("/api/v1/auth/logout")
+                .header(HttpHeaders.ORIGIN, ORIGIN)
+                .cookie(rotated), 2);
+    }
+
+    private long createAnnouncement() throws Exception {
+        MvcResult result = expectAsAdmin(post("/api/v1/admin/announcements")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Query count\",\"content\":\"body\",\"category\":\"general\",\"published\":true}"), 1);
+        return json(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private long createRelease() throws Exception {
+        String version = "qc-" + UUID.randomUUID();
+        // Version uniqueness check and the insert
+        MvcResult result = expectAsAdmin(post("/api/v1/admin/releases")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"version\":\"" + version + "\",\"title\":\"Query count\",\"content\":\"notes\","
+                        + "\"releaseType\":\"PATCH\"}"), 2);
+        return json(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private MvcResult expectAsAdmin(MockHttpServletRequestBuilder request, int expectedStatements) throws Exception {
+        return expect(request.header(HttpHeaders.AUTHORIZATION, bearer(admin)), expectedStatements);
+    }
+
+    private MvcResult expect(MockHttpServletRequestBuilder request, int expectedStatements) throws Exception {
+        return mockMvc.perform(request)
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(statements(expectedStatements))
+                .andExpect(header().string(RequestStatisticsFilter.SQL_COUNT_HEADER,
+                        Integer.toString(expectedStatements)))
+                .andReturn();
+    }
+}
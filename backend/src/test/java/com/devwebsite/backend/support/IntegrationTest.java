@@ -0,0 +1,90 @@
+package com.devwebsite.backend.support;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Base for tests against the full application and a real PostgreSQL: the Flyway migrations and the dev seed
+ * accounts are applied to one container shared by every test class, so the Spring context is cached across them.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "test"})
+public abstract class IntegrationTest {
+
+    protected static final String ADMIN_EMAIL = "admin@example.com";
+    protected static final String ADMIN_PASSWORD = "admin123";
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:17.7");
+
+    static {
+        // Started once per JVM and removed by the Testcontainers reaper when it exits
+        POSTGRES.start();
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected JsonMapper jsonMapper;
+
+    protected String login(String email, String password) throws Exception {
+        String body = jsonMapper.writeValueAsString(new Credentials(email, password, null));
+        String response = mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return jsonMapper.readTree(response).get("accessToken").asString();
+    }
+
+    protected String adminToken() throws Exception {
+        return login(ADMIN_EMAIL, ADMIN_PASSWORD);
+    }
+
+    /**
+     * Registers a fresh account and returns its access token.
+     */
+    protected String registerUser() throws Exception {
+        String email = "test-" + UUID.randomUUID() + "@example.test";
+        String body = jsonMapper.writeValueAsString(new Credentials(email, "test-password", "tester"));
+        String response = mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return jsonMapper.readTree(response).get("accessToken").asString();
+    }
+
+    protected JsonNode json(String content) {
+        return jsonMapper.readTree(content);
+    }
+
+    protected static String bearer(String token) {
+        return "Bearer " + token;
+    }
+
+    private record Credentials(String email, String password, String nickname) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.devwebsite.backend.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Millions of synthetic rows, enough for the planner to pick the plans it would pick in production.
+ * Row counts scale with {@code scale}; the budgets in {@code QueryPlanTest} are calibrated for a scale of 1.
+ */
+public final class PlanCheckDataset {
+
+    private PlanCheckDataset() {
+    }
+
+    public static void load(JdbcTemplate jdbcTemplate, int scale) {
+        long users = 1_000_000L * scale;
+        long announcements = 2_000_000L * scale;
+        long releases = 500_000L * scale;
+        long refreshTokens = 3_000_000L * scale;
+        long apiKeys = 500_000L * scale;
+
+        jdbcTemplate.execute("""
+                INSERT INTO users (email, password, nickname, role, token_version, created_at, updated_at)
+                SELECT 'user' || g || '@example.test',
+                       '$2a$10$N9qo8uLOickgx2ZMRZoMy.MqrqFb.EFmxh.RhFjq2j9Z2t0HMz4t6',
+                       'user' || g,
+                       'ROLE_USER',
+                       CASE WHEN g %% 50 = 0 THEN 1 ELSE 0 END,
+                       now() - (g %% 730) * interval '1 day',
+                       now() - (g %% 365) * interval '1 day'
+                FROM generate_series(1, %d) g
+                """.formatted(users));
+
+        jdbcTemplate.execute("""
+                INSERT INTO subscriptions (user_id, plan_id, status, started_at, created_at, updated_at)
+                SELECT u.id, p.id, 'ACTIVE', u.created_at, u.created_at, u.created_at
+                FROM users u
+                JOIN plans p ON p.name = CASE WHEN u.id % 20 = 0 THEN 'pro' ELSE 'free' END
+                WHERE NOT EXISTS (SELECT 1 FROM subscriptions s WHERE s.user_id = u.id)
+                """);
+
+        jdbcTemplate.execute("""
+                INSERT INTO api_keys (user_id, name, key_prefix, key_hash, created_at, last_used_at)
+                SELECT 1 + g %% %1$d, 'key ' || g, 'sk_' || substr(md5(g::text), 1, 8),
+                       sha256(('api-key-' || g)::bytea),
+                       now() - (g %% 400) * interval '1 day',
+                       CASE WHEN g %% 3 = 0 THEN NULL ELSE now() - (g %% 30) * interval '1 hour' END
+                FROM generate_series(1, %2$d) g
+                """.formatted(users, apiKeys));
+
+        // Titles and content draw on a small vocabulary so full-text search sees realistic term frequencies;
+        // 'kubernetes' appears in one document out of ten thousand
+        jdbcTemplate.execute("""
+                INSERT INTO announcements (title, content, category, published, published_at, author_id, created_at, updated_at)
+                WITH v AS (
+                    SELECT ARRAY['release', 'update', 'maintenance', 'security', 'billing', 'api', 'dashboard', 'login',
+                                 'performance', 'database', 'network', 'storage', 'search', 'export', 'import', 'webhook',
+                                 'token', 'session', 'plan', 'invoice', 'region', 'latency', 'outage', 'incident',
+                                 '점검', '업데이트', '보안', '결제', '공지', '서비스', '장애', '개선'] AS w
+                )
+                SELECT 'Notice ' || g || ': ' || w[1 + g %% 32] || ' ' || w[1 + (g / 32) %% 32],
+                       repeat(concat_ws(' ', w[1 + g %% 32], w[1 + (g / 7) %% 32], w[1 + (g / 31) %% 32], w[1 + (g / 97) %% 32],
+                                        'lorem ipsum dolor sit amet consectetur adipiscing elit. '), 10 + g %% 20)
+                           || CASE WHEN g %% 10000 = 0 THEN ' kubernetes' ELSE '' END,
+                       (ARRAY['general', 'update', 'maintenance', 'event', 'security'])[1 + g %% 5],
+                       g %% 10 <> 0,
+                       CASE WHEN g %% 10 <> 0 THEN now() - (g * interval '10 seconds') END,
+                       1 + g %% 100,
+                       now() - (g * interval '10 seconds'),
+                       now() - (g * interval '10 seconds')
+                FROM generate_series(1, %d) g, v
+                """.formatted(announcements));
+
+        jdbcTemplate.execute("""
+                INSERT INTO releases (version, title, content, release_type, released_at, author_id, created_at, updated_at)
+                SELECT 'v' || (g / 10000) || '.' || (g / 100 %% 100) || '.' || (g %% 100),
+                       'Release ' || g,
+                       repeat('Fixed ' || md5(g::text) || ' in search, billing and login. Improved performance. ', 5 + g %% 10)
+                           || CASE WHEN g %% 10000 = 0 THEN ' kubernetes' ELSE '' END,
+                       (ARRAY['MAJOR', 'MINOR', 'PATCH', 'HOTFIX'])[1 + g %% 4],
+                       now() - (g * interval '1 minute'),
+                       1 + g %% 100,
+                       now() - (g * interval '1 minute'),
+                       now() - (g * interval '1 minute')
+                FROM generate_series(1, %d) g
+                """.formatted(releases));
+
+        // Expiries stay within the partitions the migrations create; 70% of tokens are rotated (revoked)
+        jdbcTemplate.execute("""
+                INSERT INTO refresh_tokens (user_id, family_id, token_hash, expires_at, revoked, revoked_at, created_at)
+                SELECT 1 + g %% %d,
+                       md5('family-' || (g / 4))::uuid,
+                       sha256(('refresh-token-' || g)::bytea),
+                       now() + (g %% 13) * interval '1 day' + interval '1 hour',
+                       g %% 10 < 7,
+                       CASE WHEN g %% 10 < 7 THEN now() - (g %% 13) * interval '1 hour' END,
+                       now() - (g %% 13) * interval '1 hour'
+                FROM generate_series(1, %d) g
+                """.formatted(users, refreshTokens));
+
+        jdbcTemplate.execute("VACUUM ANALYZE");
+    }
+}
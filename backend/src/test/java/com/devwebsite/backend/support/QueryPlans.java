@@ -0,0 +1,197 @@
+package com.devwebsite.backend.support;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Explains the statements the application actually sends. A data source wrapped by {@link #explaining} runs
+ * {@code EXPLAIN (ANALYZE, BUFFERS)} for every prepared statement executed inside {@link #capture} on the
+ * current thread: same connection, same bound parameters, in a savepoint that is rolled back, before the
+ * statement itself runs as usual. Hibernate and {@code JdbcClient} statements are both seen, exactly as the
+ * repositories generate them.
+ */
+public final class QueryPlans {
+
+    private static final String EXPLAIN = "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) ";
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate");
+
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+    private static final ThreadLocal<List<QueryPlan>> CAPTURED = new ThreadLocal<>();
+
+    private QueryPlans() {
+    }
+
+    /**
+     * Runs {@code work} and returns the plans of the statements it executed, in order.
+     */
+    public static List<QueryPlan> capture(Runnable work) {
+        List<QueryPlan> plans = new ArrayList<>();
+        CAPTURED.set(plans);
+        try {
+            work.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        return plans;
+    }
+
+    public static DataSource explaining(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return explaining(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return explaining(super.getConnection(username, password));
+            }
+        };
+    }
+
+    private static Connection explaining(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(QueryPlans.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ExplainingConnection(connection));
+    }
+
+    /**
+     * The plan of one statement. Buffers are the shared blocks hit or read by the whole plan.
+     */
+    public record QueryPlan(String sql, JsonNode explained) {
+
+        public long buffers() {
+            JsonNode plan = explained.path(0).path("Plan");
+            return plan.path("Shared Hit Blocks").asLong() + plan.path("Shared Read Blocks").asLong();
+        }
+
+        public double executionMillis() {
+            return explained.path(0).path("Execution Time").asDouble();
+        }
+
+        /**
+         * Relations read by a sequential scan anywhere in the plan.
+         */
+        public Set<String> seqScans() {
+            Set<String> relations = new TreeSet<>();
+            collectSeqScans(explained.path(0).path("Plan"), relations);
+            return relations;
+        }
+
+        private static void collectSeqScans(JsonNode node, Set<String> relations) {
+            if ("Seq Scan".equals(node.path("Node Type").asString())) {
+                relations.add(node.path("Relation Name").asString());
+            }
+            for (JsonNode child : node.path("Plans")) {
+                collectSeqScans(child, relations);
+            }
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class ExplainingConnection implements InvocationHandler {
+
+        private final Connection target;
+
+        private ExplainingConnection(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = QueryPlans.invoke(target, method, args);
+            if (method.getName().equals("prepareStatement")) {
+                return Proxy.newProxyInstance(QueryPlans.class.getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                        new ExplainingStatement(target, (String) args[0], (PreparedStatement) result));
+            }
+            return result;
+        }
+    }
+
+    private static final class ExplainingStatement implements InvocationHandler {
+
+        private final Connection connection;
+        private final String sql;
+        private final PreparedStatement target;
+        private final List<Binding> bindings = new ArrayList<>();
+
+        private ExplainingStatement(Connection connection, String sql, PreparedStatement target) {
+            this.connection = connection;
+            this.sql = sql;
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (args == null || args.length == 0) {
+                if (EXECUTE_METHODS.contains(name)) {
+                    explainIfCapturing();
+                } else if (name.equals("clearParameters")) {
+                    bindings.clear();
+                }
+            } else if (name.startsWith("set") && args.length >= 2 && args[0] instanceof Integer) {
+                // setLong(1, ...), setObject(2, ..., Types.OTHER) and friends, replayed on the EXPLAIN
+                bindings.add(new Binding(method, args.clone()));
+            }
+            return QueryPlans.invoke(target, method, args);
+        }
+
+        private void explainIfCapturing() throws Throwable {
+            List<QueryPlan> captured = CAPTURED.get();
+            if (captured != null) {
+                captured.add(new QueryPlan(sql, JSON.readTree(explain())));
+            }
+        }
+
+        private String explain() throws Throwable {
+            boolean autoCommit = connection.getAutoCommit();
+            if (autoCommit) {
+                connection.setAutoCommit(false);
+            }
+            Savepoint savepoint = autoCommit ? null : connection.setSavepoint();
+            try (PreparedStatement explain = connection.prepareStatement(EXPLAIN + sql)) {
+                for (Binding binding : bindings) {
+                    QueryPlans.invoke(explain, binding.method(), binding.args());
+                }
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            } finally {
+                // EXPLAIN ANALYZE executes the statement; writes must not survive it
+                if (autoCommit) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                } else {
+                    connection.rollback(savepoint);
+                }
+            }
+        }
+    }
+
+    private record Binding(Method method, Object[] args) {
+    }
+}
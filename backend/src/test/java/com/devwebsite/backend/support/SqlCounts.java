@@ -0,0 +1,50 @@
+package com.devwebsite.backend.support;
+
+import com.devwebsite.backend.common.metrics.RequestStatistics;
+import com.devwebsite.backend.common.metrics.RequestStatisticsFilter;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exact SQL statement counts for MockMvc requests, read from the {@link RequestStatistics} that
+ * {@link RequestStatisticsFilter} leaves on the request. A mismatch fails with every statement the request ran,
+ * so a lost {@code JOIN FETCH} shows up as the repeated lazy load.
+ */
+public final class SqlCounts {
+
+    private SqlCounts() {
+    }
+
+    public static RequestStatistics of(MvcResult result) {
+        Object statistics = result.getRequest().getAttribute(RequestStatisticsFilter.STATISTICS_ATTRIBUTE);
+        assertThat(statistics)
+                .as("RequestStatistics on %s", result.getRequest().getRequestURI())
+                .isInstanceOf(RequestStatistics.class);
+        return (RequestStatistics) statistics;
+    }
+
+    /**
+     * Expects the request to have run exactly {@code expected} SQL statements through Hibernate.
+     */
+    public static ResultMatcher statements(int expected) {
+        return result -> {
+            RequestStatistics statistics = of(result);
+            assertThat(statistics.statements())
+                    .as("SQL statements of %s %s:%s", result.getRequest().getMethod(),
+                            result.getRequest().getRequestURI(), describe(statistics))
+                    .isEqualTo(expected);
+        };
+    }
+
+    private static String describe(RequestStatistics statistics) {
+        StringBuilder description = new StringBuilder();
+        for (Map.Entry<String, Integer> statement : statistics.repeatedStatements(1)) {
+            description.append("\n  ").append(statement.getValue()).append("x ").append(statement.getKey());
+        }
+        return description.toString();
+    }
+}
@@ -11,8 +11,18 @@ export interface Announcement {
   updatedAt: string
 }
 
-export interface AnnouncementsResponse {
-  content: Announcement[]
+// List item of the public list; carries a plain-text excerpt instead of the full content
+export interface AnnouncementSummary {
+  id: number
+  title: string
+  excerpt: string
+  category: Announcement['category']
+  publishedAt: string
+  author: { id: number; nickname: string } | null
+}
+
+export interface AnnouncementsResponse<T = AnnouncementSummary> {
+  content: T[]
   totalElements: number
   totalPages: number
   page: number
@@ -50,7 +60,7 @@ export async function getAnnouncement(id: number): Promise<Announcement> {
   return get<Announcement>(`/announcements/${id}`)
 }
 
-export async function getLatestAnnouncements(limit = 3): Promise<Announcement[]> {
+export async function getLatestAnnouncements(limit = 3): Promise<AnnouncementSummary[]> {
   const response = await get<AnnouncementsResponse>('/announcements', {
     params: { page: 0, size: limit },
   })
@@ -58,6 +68,10 @@ export async function getLatestAnnouncements(limit = 3): Promise<Announcement[]>
 }
 
 // Admin APIs
+export async function getAdminAnnouncements(params?: AnnouncementsParams): Promise<AnnouncementsResponse<Announcement>> {
+  return get<AnnouncementsResponse<Announcement>>('/admin/announcements', { params })
+}
+
 export async function createAnnouncement(data: CreateAnnouncementRequest): Promise<Announcement> {
   return post<Announcement>('/admin/announcements', data)
 }
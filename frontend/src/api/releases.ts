@@ -12,8 +12,19 @@ export interface Release {
   updatedAt: string
 }
 
-export interface ReleasesResponse {
-  content: Release[]
+// List item of the public list; carries a plain-text excerpt instead of the full content
+export interface ReleaseSummary {
+  id: number
+  version: string
+  title: string
+  excerpt: string
+  releaseType: 'MAJOR' | 'MINOR' | 'PATCH' | 'HOTFIX'
+  releasedAt: string
+  author: { id: number; nickname: string } | null
+}
+
+export interface ReleasesResponse<T = ReleaseSummary> {
+  content: T[]
   totalElements: number
   totalPages: number
   page: number
@@ -53,7 +64,7 @@ export async function getRelease(id: number): Promise<Release> {
   return get<Release>(`/releases/${id}`)
 }
 
-export async function getLatestReleases(limit = 3): Promise<Release[]> {
+export async function getLatestReleases(limit = 3): Promise<ReleaseSummary[]> {
   const response = await get<ReleasesResponse>('/releases', {
     params: { page: 0, size: limit },
   })
@@ -61,6 +72,10 @@ export async function getLatestReleases(limit = 3): Promise<Release[]> {
 }
 
 // Admin APIs
+export async function getAdminReleases(params?: ReleasesParams): Promise<ReleasesResponse<Release>> {
+  return get<ReleasesResponse<Release>>('/admin/releases', { params })
+}
+
 export async function createRelease(data: CreateReleaseRequest): Promise<Release> {
   return post<Release>('/admin/releases', data)
 }